@@ -4,7 +4,7 @@ plugins {
 }
 
 dependencies {
-    implementation(libs.spring.boot.starter.web)
+    compileOnly(libs.spring.boot.starter.web)
     implementation(libs.spring.boot.starter.security)
     implementation(libs.spring.boot.starter.oauth2.client)
     implementation(libs.swagger.annotations.jakarta)
@@ -12,7 +12,10 @@ dependencies {
     implementation(libs.mapstruct)
     implementation(libs.lombok.mapstruct.binding)
     implementation(libs.spring.security.oauth2.resource.server)
-    implementation(libs.spring.doc.mvc)
+    compileOnly(libs.spring.doc.mvc)
+    implementation(libs.caffeine)
+    compileOnly(libs.reactor.core)
+    compileOnly(libs.micrometer.core)
 
     annotationProcessor(libs.mapstruct.processor)
 
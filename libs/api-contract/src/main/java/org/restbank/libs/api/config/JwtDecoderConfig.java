@@ -0,0 +1,121 @@
+package org.restbank.libs.api.config;
+
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.restbank.libs.api.security.CachingJwtDecoder;
+import org.restbank.libs.api.security.CachingReactiveJwtDecoder;
+import org.restbank.libs.api.security.JwtDecoderFactory;
+import org.restbank.libs.api.security.VerifiedTokenCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+
+import java.time.Duration;
+
+/**
+ * Configures the JWT decoders of the resource servers with a shared, locally cached JWK set.
+ *
+ * <p>The JWK set of the issuer is loaded at startup and refreshed in the background before it expires, and a
+ * stale copy keeps being served while Keycloak is unreachable, so verifying a token signature never waits on
+ * the network. Spring Boot's own decoders back off when these beans are present.</p>
+ *
+ * <p>Unless {@code restbank.security.jwt-cache.enabled} is {@code false}, the decoders also keep a bounded cache
+ * of verified tokens until they expire, so a client reusing its token is verified once per service. The hit rate
+ * is published as the {@code cache.gets} metrics of the {@code jwt.verified} cache.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.security.oauth2.resourceserver.jwt.issuer-uri")
+public class JwtDecoderConfig {
+
+    /**
+     * Creates the cached JWK set of the issuer, preloading it.
+     *
+     * @param issuerUri    The issuer of the accepted tokens.
+     * @param jwkSetUri    The location of the JWK set; defaults to the Keycloak certificates endpoint of the issuer.
+     * @param timeToLive   How long a fetched JWK set is used before it is refetched.
+     * @param refreshAhead How long before expiry the JWK set is refreshed in the background.
+     * @param outageTtl    How long a stale JWK set is still served while the issuer cannot be reached.
+     * @param timeout      The connect and read timeout for fetching the JWK set.
+     * @return The {@link JWKSource}, closed on shutdown.
+     */
+    @Bean
+    public JWKSource<SecurityContext> jwkSource(
+            @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+            @Value("${restbank.security.jwks.uri:${spring.security.oauth2.resourceserver.jwt.issuer-uri}/protocol/openid-connect/certs}") String jwkSetUri,
+            @Value("${restbank.security.jwks.time-to-live:PT15M}") Duration timeToLive,
+            @Value("${restbank.security.jwks.refresh-ahead:PT1M}") Duration refreshAhead,
+            @Value("${restbank.security.jwks.outage-time-to-live:PT12H}") Duration outageTtl,
+            @Value("${restbank.security.jwks.timeout:PT5S}") Duration timeout) {
+        JWKSource<SecurityContext> jwkSource = JwtDecoderFactory.jwkSource(jwkSetUri, timeToLive, refreshAhead, outageTtl, timeout);
+        JwtDecoderFactory.preload(jwkSource, issuerUri);
+        return jwkSource;
+    }
+
+    /**
+     * Creates the cache of verified tokens and binds its metrics.
+     *
+     * @param maximumSize   The maximum number of cached tokens.
+     * @param meterRegistry The registry for the cache metrics, if any.
+     * @return The {@link VerifiedTokenCache}.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "restbank.security.jwt-cache.enabled", havingValue = "true", matchIfMissing = true)
+    public VerifiedTokenCache verifiedTokenCache(
+            @Value("${restbank.security.jwt-cache.maximum-size:10000}") long maximumSize,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        VerifiedTokenCache cache = new VerifiedTokenCache(maximumSize);
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache.cache(), "jwt.verified"));
+        return cache;
+    }
+
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class Servlet {
+
+        /**
+         * Creates the JWT decoder of a servlet resource server.
+         *
+         * @param jwkSource          The cached JWK set.
+         * @param issuerUri          The issuer of the accepted tokens.
+         * @param verifiedTokenCache The cache of verified tokens, if enabled.
+         * @return A {@link JwtDecoder} verifying signatures against the cached JWK set.
+         */
+        @Bean
+        public JwtDecoder jwtDecoder(JWKSource<SecurityContext> jwkSource,
+                                     @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+                                     ObjectProvider<VerifiedTokenCache> verifiedTokenCache) {
+            JwtDecoder decoder = JwtDecoderFactory.jwtDecoder(jwkSource, issuerUri);
+            VerifiedTokenCache cache = verifiedTokenCache.getIfAvailable();
+            return cache != null ? new CachingJwtDecoder(decoder, cache) : decoder;
+        }
+    }
+
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class Reactive {
+
+        /**
+         * Creates the JWT decoder of a reactive resource server.
+         *
+         * @param jwkSource          The cached JWK set.
+         * @param issuerUri          The issuer of the accepted tokens.
+         * @param verifiedTokenCache The cache of verified tokens, if enabled.
+         * @return A {@link ReactiveJwtDecoder} verifying signatures against the cached JWK set.
+         */
+        @Bean
+        public ReactiveJwtDecoder reactiveJwtDecoder(JWKSource<SecurityContext> jwkSource,
+                                                     @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+                                                     ObjectProvider<VerifiedTokenCache> verifiedTokenCache) {
+            ReactiveJwtDecoder decoder = JwtDecoderFactory.reactiveJwtDecoder(jwkSource, issuerUri);
+            VerifiedTokenCache cache = verifiedTokenCache.getIfAvailable();
+            return cache != null ? new CachingReactiveJwtDecoder(decoder, cache) : decoder;
+        }
+    }
+}
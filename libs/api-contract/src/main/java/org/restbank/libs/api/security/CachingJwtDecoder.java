@@ -0,0 +1,30 @@
+package org.restbank.libs.api.security;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * A {@link JwtDecoder} that skips parsing and signature verification for tokens it has already verified.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+    private final JwtDecoder delegate;
+    private final VerifiedTokenCache cache;
+
+    public CachingJwtDecoder(JwtDecoder delegate, VerifiedTokenCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = cache.keyOf(token);
+        Jwt cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Jwt jwt = delegate.decode(token);
+        cache.put(key, jwt);
+        return jwt;
+    }
+}
@@ -0,0 +1,33 @@
+package org.restbank.libs.api.security;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+/**
+ * A {@link ReactiveJwtDecoder} that skips parsing and signature verification for tokens it has already
+ * verified.
+ */
+public class CachingReactiveJwtDecoder implements ReactiveJwtDecoder {
+    private final ReactiveJwtDecoder delegate;
+    private final VerifiedTokenCache cache;
+
+    public CachingReactiveJwtDecoder(ReactiveJwtDecoder delegate, VerifiedTokenCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) throws JwtException {
+        return Mono.defer(() -> {
+            String key = cache.keyOf(token);
+            Jwt cached = cache.get(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            return delegate.decode(token)
+                    .doOnNext(jwt -> cache.put(key, jwt));
+        });
+    }
+}
@@ -6,49 +6,73 @@ import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Component;
 
-import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Converts a {@link Jwt} into an {@link AbstractAuthenticationToken} by extracting
  * authorities (roles) from the JWT claims.
  * This converter is used to integrate Keycloak JWTs with Spring Security.
+ *
+ * <p>Users share a handful of role combinations, so the authorities of each distinct combination are built
+ * once and interned as an immutable list, together with whether they include {@value Roles#ADMIN}. The number
+ * of interned combinations is bounded; beyond it, authorities are built per token.</p>
  */
 @RequiredArgsConstructor
 @Component
 public class JwtConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+    private static final int MAX_INTERNED_ROLE_SETS = 256;
+    private static final RoleSet NO_ROLES = new RoleSet(List.of(), false);
+
+    private final Map<List<?>, RoleSet> roleSets = new ConcurrentHashMap<>();
 
     /**
      * Converts the provided JWT into an authentication token with extracted authorities.
      *
      * @param jwt The JWT to convert.
-     * @return An {@link AbstractAuthenticationToken} containing the JWT and extracted authorities.
+     * @return A {@link JwtRoleAuthenticationToken} containing the JWT and extracted authorities.
      */
     public AbstractAuthenticationToken convert(Jwt jwt) {
-        Collection<GrantedAuthority> authorities = extractAuthorities(jwt);
-        return new JwtAuthenticationToken(jwt, authorities);
+        RoleSet roleSet = extractAuthorities(jwt);
+        return new JwtRoleAuthenticationToken(jwt, roleSet.authorities(), roleSet.admin());
     }
 
     /**
      * Extracts granted authorities (roles) from the JWT's 'realm_access' claim.
      *
      * @param jwt The JWT from which to extract authorities.
-     * @return A collection of {@link GrantedAuthority} representing the user's roles.
+     * @return The interned {@link RoleSet} representing the user's roles.
      */
-    private Collection<GrantedAuthority> extractAuthorities(Jwt jwt) {
+    private RoleSet extractAuthorities(Jwt jwt) {
         Map<String, Object> realmAccess = jwt.getClaim("realm_access");
-        if (realmAccess == null || !realmAccess.containsKey("roles")) {
-            return List.of();
+        if (realmAccess == null || !(realmAccess.get("roles") instanceof List<?> roles) || roles.isEmpty()) {
+            return NO_ROLES;
+        }
+        RoleSet roleSet = roleSets.get(roles);
+        if (roleSet != null) {
+            return roleSet;
+        }
+        roleSet = RoleSet.of(roles);
+        if (roleSets.size() < MAX_INTERNED_ROLE_SETS) {
+            RoleSet existing = roleSets.putIfAbsent(List.copyOf(roles), roleSet);
+            return existing != null ? existing : roleSet;
+        }
+        return roleSet;
+    }
+
+    /**
+     * The authorities of a combination of roles.
+     */
+    private record RoleSet(List<GrantedAuthority> authorities, boolean admin) {
+        private static RoleSet of(List<?> roles) {
+            List<GrantedAuthority> authorities = roles.stream()
+                    .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                    .toList();
+            boolean admin = authorities.stream().anyMatch(a -> Roles.ADMIN.equals(a.getAuthority()));
+            return new RoleSet(authorities, admin);
         }
-        @SuppressWarnings("unchecked")
-        List<String> roles = (List<String>) realmAccess.get("roles");
-        return roles.stream()
-                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,134 @@
+package org.restbank.libs.api.security;
+
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.DefaultJOSEObjectTypeVerifier;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.DefaultResourceRetriever;
+import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Factory for JWT decoders that verify signatures against a locally cached JWK set.
+ *
+ * <p>The JWK set is cached for a configured time to live and refreshed in the background shortly before it
+ * expires. Should the issuer be unreachable, the last JWK set keeps being served for the outage time to live,
+ * so requests are not stalled by a Keycloak outage or restart. A token signed with an unknown key triggers an
+ * immediate, rate-limited refetch, which picks up rotated keys.</p>
+ */
+@Slf4j
+public final class JwtDecoderFactory {
+    private static final Set<JWSAlgorithm> ALGORITHMS = Set.of(
+            JWSAlgorithm.RS256, JWSAlgorithm.RS384, JWSAlgorithm.RS512,
+            JWSAlgorithm.PS256, JWSAlgorithm.PS384, JWSAlgorithm.PS512,
+            JWSAlgorithm.ES256, JWSAlgorithm.ES384, JWSAlgorithm.ES512);
+
+    private JwtDecoderFactory() {
+    }
+
+    /**
+     * Creates a cached JWK set source.
+     *
+     * @param jwkSetUri    The location of the JWK set.
+     * @param timeToLive   How long a fetched JWK set is used before it is refetched.
+     * @param refreshAhead How long before expiry the JWK set is refreshed in the background.
+     * @param outageTtl    How long a stale JWK set is still served while the issuer cannot be reached.
+     * @param timeout      The connect and read timeout for fetching the JWK set.
+     * @return The {@link JWKSource}.
+     */
+    public static JWKSource<SecurityContext> jwkSource(String jwkSetUri, Duration timeToLive, Duration refreshAhead,
+                                                       Duration outageTtl, Duration timeout) {
+        int timeoutMillis = Math.toIntExact(timeout.toMillis());
+        try {
+            return JWKSourceBuilder.<SecurityContext>create(URI.create(jwkSetUri).toURL(),
+                            new DefaultResourceRetriever(timeoutMillis, timeoutMillis))
+                    .cache(timeToLive.toMillis(), timeout.toMillis())
+                    .refreshAheadCache(refreshAhead.toMillis(), true)
+                    .outageTolerant(outageTtl.toMillis())
+                    .rateLimited(true)
+                    .retrying(true)
+                    .build();
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid JWK set URI: " + jwkSetUri, e);
+        }
+    }
+
+    /**
+     * Loads the JWK set into the cache. A failure is logged and left to the first request to retry.
+     *
+     * @param jwkSource The JWK set source.
+     * @param issuerUri The issuer, for logging.
+     */
+    public static void preload(JWKSource<SecurityContext> jwkSource, String issuerUri) {
+        try {
+            List<JWK> keys = jwkSource.get(new JWKSelector(new JWKMatcher.Builder().build()), null);
+            log.info("Preloaded {} signing keys of issuer {}", keys.size(), issuerUri);
+        } catch (Exception e) {
+            log.warn("Could not preload the signing keys of issuer {}: {}", issuerUri, e.getMessage());
+        }
+    }
+
+    /**
+     * Creates a JWT decoder for servlet resource servers.
+     *
+     * @param jwkSource The cached JWK set source.
+     * @param issuerUri The issuer the tokens must be issued by.
+     * @return A {@link JwtDecoder} validating the signature, timestamps and issuer of tokens.
+     */
+    public static JwtDecoder jwtDecoder(JWKSource<SecurityContext> jwkSource, String issuerUri) {
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(jwtProcessor(jwkSource));
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+        return decoder;
+    }
+
+    /**
+     * Creates a JWT decoder for reactive resource servers.
+     *
+     * <p>Verification runs on the bounded elastic scheduler rather than the event loop: a token signed with an
+     * unknown key makes the JWK source fetch the JWK set synchronously, which may block for the configured
+     * timeouts and retry. When the verified token cache is enabled, a known token is served by
+     * {@link CachingReactiveJwtDecoder} without reaching this decoder.</p>
+     *
+     * @param jwkSource The cached JWK set source.
+     * @param issuerUri The issuer the tokens must be issued by.
+     * @return A {@link ReactiveJwtDecoder} validating the signature, timestamps and issuer of tokens.
+     */
+    public static ReactiveJwtDecoder reactiveJwtDecoder(JWKSource<SecurityContext> jwkSource, String issuerUri) {
+        ConfigurableJWTProcessor<SecurityContext> processor = jwtProcessor(jwkSource);
+        NimbusReactiveJwtDecoder decoder = new NimbusReactiveJwtDecoder(
+                jwt -> Mono.fromCallable(() -> processor.process(jwt, null))
+                        .subscribeOn(Schedulers.boundedElastic()));
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+        return decoder;
+    }
+
+    private static ConfigurableJWTProcessor<SecurityContext> jwtProcessor(JWKSource<SecurityContext> jwkSource) {
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(ALGORITHMS, jwkSource));
+        processor.setJWSTypeVerifier(new DefaultJOSEObjectTypeVerifier<>(JOSEObjectType.JWT, null));
+        // Claims are validated by the Spring Security validators set on the decoder
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        return processor;
+    }
+}
@@ -0,0 +1,48 @@
+package org.restbank.libs.api.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.io.Serial;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A {@link JwtAuthenticationToken} that knows whether its user is an administrator, so the check does not
+ * have to scan the authorities on every use.
+ *
+ * <p>The token keeps the authorities list it was created with and returns it from {@link #getAuthorities()},
+ * so tokens of users with the same roles share the list interned by {@link JwtConverter} instead of each
+ * holding the copy made by {@link org.springframework.security.authentication.AbstractAuthenticationToken}.
+ * The list must therefore be immutable.</p>
+ *
+ * @see Roles#isAdmin(org.springframework.security.core.Authentication)
+ */
+public class JwtRoleAuthenticationToken extends JwtAuthenticationToken {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final List<GrantedAuthority> authorities;
+    private final boolean admin;
+
+    public JwtRoleAuthenticationToken(Jwt jwt, List<GrantedAuthority> authorities, boolean admin) {
+        super(jwt, authorities);
+        this.authorities = authorities;
+        this.admin = admin;
+    }
+
+    @Override
+    public Collection<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    /**
+     * Returns whether the user has the {@value Roles#ADMIN} authority.
+     *
+     * @return {@code true} if the user is an administrator.
+     */
+    public boolean isAdmin() {
+        return admin;
+    }
+}
@@ -0,0 +1,34 @@
+package org.restbank.libs.api.security;
+
+import org.springframework.security.core.Authentication;
+
+import java.util.Objects;
+
+/**
+ * Role checks on an {@link Authentication}.
+ */
+public final class Roles {
+    /**
+     * The authority of administrators.
+     */
+    public static final String ADMIN = "ROLE_ADMIN";
+
+    private Roles() {
+    }
+
+    /**
+     * Returns whether the authenticated user is an administrator.
+     *
+     * <p>Uses the flag precomputed by {@link JwtConverter} when available and falls back to scanning the
+     * authorities otherwise.</p>
+     *
+     * @param auth The authentication.
+     * @return {@code true} if the user has the {@value #ADMIN} authority.
+     */
+    public static boolean isAdmin(Authentication auth) {
+        if (auth instanceof JwtRoleAuthenticationToken token) {
+            return token.isAdmin();
+        }
+        return auth.getAuthorities().stream().anyMatch(a -> Objects.equals(a.getAuthority(), ADMIN));
+    }
+}
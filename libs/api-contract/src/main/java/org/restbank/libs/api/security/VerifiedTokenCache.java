@@ -0,0 +1,87 @@
+package org.restbank.libs.api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * A bounded cache of already verified tokens, keyed by the SHA-256 hash of the encoded token.
+ *
+ * <p>An entry expires when its token does, so a cached {@link Jwt} is never served past its {@code exp} claim.
+ * Tokens without an expiry are not cached. Only tokens that passed signature and claim validation are put in
+ * the cache, and since the key is a hash of the whole encoded token, a tampered token can never hit.</p>
+ */
+public class VerifiedTokenCache {
+    private final Cache<String, Jwt> cache;
+
+    public VerifiedTokenCache(long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.<String, Jwt>creating((key, jwt) -> timeToLive(jwt)))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached, verified {@link Jwt} of a token.
+     *
+     * @param key The cache key of the token, see {@link #keyOf(String)}.
+     * @return The {@link Jwt}, or {@code null} if the token is not cached.
+     */
+    public Jwt get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Caches a verified {@link Jwt}.
+     *
+     * @param key The cache key of the token, see {@link #keyOf(String)}.
+     * @param jwt The verified {@link Jwt}.
+     */
+    public void put(String key, Jwt jwt) {
+        if (jwt.getExpiresAt() != null) {
+            cache.put(key, jwt);
+        }
+    }
+
+    /**
+     * Computes the cache key of an encoded token.
+     *
+     * @param token The encoded token.
+     * @return The hex encoded SHA-256 hash of the token.
+     */
+    public String keyOf(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Returns the underlying cache, for binding its metrics.
+     *
+     * @return The Caffeine {@link Cache}.
+     */
+    public Cache<String, Jwt> cache() {
+        return cache;
+    }
+
+    private static Duration timeToLive(Jwt jwt) {
+        Instant expiresAt = jwt.getExpiresAt();
+        if (expiresAt == null) {
+            return Duration.ZERO;
+        }
+        Duration ttl = Duration.between(Instant.now(), expiresAt);
+        return ttl.isNegative() ? Duration.ZERO : ttl;
+    }
+}
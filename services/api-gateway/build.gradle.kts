@@ -1,9 +1,11 @@
 dependencies {
+    implementation(project(":libs:api-contract"))
     implementation(libs.spring.cloud.starter.gateway)
     implementation(libs.spring.boot.starter.oauth2.client)
     implementation(libs.spring.cloud.starter.circuitbreaker.reactor.resilience4j)
     implementation(libs.spring.cloud.starter.loadbalancer)
     implementation(libs.spring.doc.flux)
+    implementation(libs.caffeine)
     testImplementation(libs.spring.cloud.starter.contract.stub.runner)
     testImplementation(libs.reactor.test)
 
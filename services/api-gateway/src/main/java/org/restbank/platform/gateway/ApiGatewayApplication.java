@@ -1,7 +1,9 @@
 package org.restbank.platform.gateway;
 
+import org.restbank.libs.api.config.JwtDecoderConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
 
 /**
  * The main entry point for the API Gateway application.
@@ -23,6 +25,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * manageability of the overall system.</p>
  */
 @SpringBootApplication
+@Import(JwtDecoderConfig.class)
 public class ApiGatewayApplication {
 
     /**
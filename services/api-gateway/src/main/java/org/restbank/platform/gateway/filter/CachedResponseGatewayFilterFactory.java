@@ -0,0 +1,270 @@
+package org.restbank.platform.gateway.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A gateway filter that caches the {@code GET} responses of a route per user, with ETag revalidation.
+ *
+ * <p>Successful responses are cached for the configured time to live under the route, the path with its query
+ * and the {@code sub} claim of the caller, so one user never sees another user's response. Unauthenticated
+ * requests are not cached. Every cached response carries a strong {@code ETag}; a request whose
+ * {@code If-None-Match} matches it is answered with {@code 304 Not Modified} without a body.</p>
+ *
+ * <p>Adding the filter to a route is what opts the route into caching, so the {@code Cache-Control},
+ * {@code Pragma} and {@code Expires} headers of the downstream service are replaced rather than honoured:
+ * Spring Security sends {@code no-store} on every response by default, which would otherwise make nothing
+ * cacheable. Responses leave the gateway as {@code private, no-cache}, so clients revalidate with the
+ * {@code ETag} and shared caches never store them.</p>
+ *
+ * <p>Each route has a generation number that is part of the cache key. A successful write ({@code POST},
+ * {@code PUT}, {@code PATCH} or {@code DELETE}) through the route increments it when its response is
+ * committed, which makes every cached response of the route unreachable in constant time, since a write by
+ * one user, such as an administrator blocking a card, can change what others see. A {@code GET} that started
+ * before the write is not stored, so it cannot bring back what the write replaced; entries of old
+ * generations are evicted by their time to live or by size. Changes made outside the gateway, such as Kafka
+ * driven updates, are picked up when the entries expire, which is why the time to live should stay short.</p>
+ *
+ * <p>Hits and misses are counted per route by {@code gateway.response.cache.requests}, and invalidations by
+ * {@code gateway.response.cache.invalidations}. Enable the filter on a route with, for example,
+ * {@code CachedResponse=5s}.</p>
+ */
+@Slf4j
+@Component
+public class CachedResponseGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<CachedResponseGatewayFilterFactory.Config> {
+
+    private final Cache<CacheKey, CachedResponse> cache;
+    private final ConcurrentMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final PathPatternParser pathPatternParser = PathPatternParser.defaultInstance;
+
+    public CachedResponseGatewayFilterFactory(
+            MeterRegistry meterRegistry,
+            @Value("${gateway.response-cache.maximum-size:10000}") long maximumSize) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.<CacheKey, CachedResponse>creating((key, response) -> response.timeToLive()))
+                .build();
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("timeToLive");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String routeId = config.getRouteId();
+        AtomicLong generation = generations.computeIfAbsent(routeId, id -> new AtomicLong());
+        List<PathPattern> patterns = config.getPaths().stream().map(pathPatternParser::parse).toList();
+        Counter hits = requestCounter(routeId, "hit");
+        Counter misses = requestCounter(routeId, "miss");
+        Counter invalidations = Counter.builder("gateway.response.cache.invalidations")
+                .description("Number of times the cached responses of a route were dropped after a write")
+                .tag("route", routeId)
+                .register(meterRegistry);
+
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            HttpMethod method = request.getMethod();
+            if (HttpMethod.GET.equals(method)) {
+                if (!patterns.isEmpty() && patterns.stream().noneMatch(p -> p.matches(request.getPath().pathWithinApplication()))) {
+                    return chain.filter(exchange);
+                }
+                return exchange.getPrincipal()
+                        .map(CachedResponseGatewayFilterFactory::subjectOf)
+                        .map(subject -> new CacheKey(routeId, generation.get(), subject, request.getURI().getRawPath()
+                                + (request.getURI().getRawQuery() != null ? "?" + request.getURI().getRawQuery() : "")))
+                        .map(key -> serve(exchange, chain, key, generation, config.getTimeToLive(), hits, misses))
+                        .defaultIfEmpty(Mono.defer(() -> chain.filter(exchange)))
+                        .flatMap(Function.identity());
+            }
+            if (HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method)) {
+                return chain.filter(exchange);
+            }
+            exchange.getResponse().beforeCommit(() -> Mono.fromRunnable(() -> {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                if (status != null && status.is2xxSuccessful()) {
+                    generation.incrementAndGet();
+                    invalidations.increment();
+                    log.debug("Dropped cached responses of route {}", routeId);
+                }
+            }));
+            return chain.filter(exchange);
+        };
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, GatewayFilterChain chain, CacheKey key,
+                             AtomicLong generation, Duration timeToLive, Counter hits, Counter misses) {
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return write(exchange, cached);
+        }
+        misses.increment();
+        return chain.filter(exchange.mutate()
+                .response(new CachingResponse(exchange, key, generation, timeToLive))
+                .build());
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(cached.etag());
+        headers.setCacheControl(CacheControl.noCache().cachePrivate());
+        headers.remove(HttpHeaders.PRAGMA);
+        headers.remove(HttpHeaders.EXPIRES);
+        if (matches(exchange.getRequest(), cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        if (cached.contentType() != null) {
+            headers.setContentType(cached.contentType());
+        }
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private Counter requestCounter(String routeId, String result) {
+        return Counter.builder("gateway.response.cache.requests")
+                .description("Number of cacheable requests, by whether they were served from the cache")
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static String subjectOf(Principal principal) {
+        if (principal instanceof JwtAuthenticationToken token && token.getToken().getSubject() != null) {
+            return token.getToken().getSubject();
+        }
+        return principal.getName();
+    }
+
+    private static boolean matches(ServerHttpRequest request, String etag) {
+        List<String> ifNoneMatch = request.getHeaders().getIfNoneMatch();
+        return ifNoneMatch.contains(etag) || ifNoneMatch.contains("*");
+    }
+
+    private static String etagOf(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Buffers a successful response, caches it unless the route was written to in the meantime, and answers it
+     * with an {@code ETag}.
+     */
+    private class CachingResponse extends ServerHttpResponseDecorator {
+        private final ServerWebExchange exchange;
+        private final CacheKey key;
+        private final AtomicLong generation;
+        private final Duration timeToLive;
+
+        private CachingResponse(ServerWebExchange exchange, CacheKey key, AtomicLong generation,
+                                Duration timeToLive) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.key = key;
+            this.generation = generation;
+            this.timeToLive = timeToLive;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!HttpStatus.OK.equals(getStatusCode())) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(Flux.from(body))
+                    .map(buffer -> {
+                        byte[] bytes = new byte[buffer.readableByteCount()];
+                        buffer.read(bytes);
+                        DataBufferUtils.release(buffer);
+                        return bytes;
+                    })
+                    .defaultIfEmpty(new byte[0])
+                    .flatMap(bytes -> {
+                        CachedResponse cached = new CachedResponse(
+                                getHeaders().getContentType(), bytes, etagOf(bytes), timeToLive);
+                        if (generation.get() == key.generation()) {
+                            cache.put(key, cached);
+                        }
+                        getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                        return write(exchange, cached);
+                    });
+        }
+    }
+
+    /**
+     * The configuration of the filter on a route.
+     */
+    @Getter
+    @Setter
+    public static class Config implements HasRouteId {
+        /**
+         * How long a response is served from the cache.
+         */
+        private Duration timeToLive = Duration.ofSeconds(5);
+        /**
+         * The path patterns of the cached {@code GET} requests; all of them if empty.
+         */
+        private List<String> paths = new ArrayList<>();
+        private String routeId;
+    }
+
+    private record CacheKey(String routeId, long generation, String subject, String pathAndQuery) {
+    }
+
+    private record CachedResponse(MediaType contentType, byte[] body, String etag, Duration timeToLive) {
+    }
+}
@@ -0,0 +1,153 @@
+package org.restbank.platform.gateway.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CachedResponseGatewayFilterFactoryTest {
+    private static final String ROUTE_ID = "card-service";
+    private static final String PATH = "/api/v1/cards/1";
+    private static final String BODY = "{\"id\":1,\"status\":\"ACTIVE\"}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger downstreamReads = new AtomicInteger();
+
+    private GatewayFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        CachedResponseGatewayFilterFactory.Config config = new CachedResponseGatewayFilterFactory.Config();
+        config.setRouteId(ROUTE_ID);
+        filter = new CachedResponseGatewayFilterFactory(meterRegistry, 100).apply(config);
+    }
+
+    @Test
+    void get_noStoreFromDownstream_secondRequestIsHit() {
+        filter.filter(get("user-1"), this::downstreamRead).block();
+        ServerWebExchange second = get("user-1");
+
+        filter.filter(second, this::downstreamRead).block();
+
+        assertEquals(1, downstreamReads.get());
+        assertEquals(1.0, requests("hit"));
+        MockServerHttpResponse response = (MockServerHttpResponse) second.getResponse();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(BODY, response.getBodyAsString().block());
+    }
+
+    @Test
+    void get_noStoreFromDownstream_isReplacedWithPrivateNoCache() {
+        ServerWebExchange exchange = get("user-1");
+
+        filter.filter(exchange, this::downstreamRead).block();
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertEquals(CacheControl.noCache().cachePrivate().getHeaderValue(), headers.getCacheControl());
+        assertNull(headers.getFirst(HttpHeaders.PRAGMA));
+        assertNull(headers.getFirst(HttpHeaders.EXPIRES));
+        assertEquals(BODY, ((MockServerHttpResponse) exchange.getResponse()).getBodyAsString().block());
+    }
+
+    @Test
+    void get_matchingIfNoneMatch_returnsNotModified() {
+        ServerWebExchange first = get("user-1");
+        filter.filter(first, this::downstreamRead).block();
+        String etag = first.getResponse().getHeaders().getETag();
+        ServerWebExchange second = exchange(MockServerHttpRequest.get(PATH).ifNoneMatch(etag), "user-1");
+
+        filter.filter(second, this::downstreamRead).block();
+
+        assertEquals(1, downstreamReads.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getResponse().getStatusCode());
+    }
+
+    @Test
+    void get_otherSubject_isMiss() {
+        filter.filter(get("user-1"), this::downstreamRead).block();
+
+        filter.filter(get("user-2"), this::downstreamRead).block();
+
+        assertEquals(2, downstreamReads.get());
+        assertEquals(0.0, requests("hit"));
+    }
+
+    @Test
+    void write_successful_dropsCachedResponsesOfRoute() {
+        filter.filter(get("user-1"), this::downstreamRead).block();
+
+        filter.filter(post("admin"), this::downstreamWrite).block();
+        filter.filter(get("user-1"), this::downstreamRead).block();
+
+        assertEquals(2, downstreamReads.get());
+        assertEquals(0.0, requests("hit"));
+        assertEquals(1.0, meterRegistry.get("gateway.response.cache.invalidations").counter().count());
+    }
+
+    @Test
+    void get_startedBeforeWrite_isNotStored() {
+        filter.filter(get("user-1"), exchange -> filter.filter(post("admin"), this::downstreamWrite)
+                .then(Mono.defer(() -> downstreamRead(exchange)))).block();
+
+        filter.filter(get("user-1"), this::downstreamRead).block();
+
+        assertEquals(2, downstreamReads.get());
+        assertEquals(0.0, requests("hit"));
+    }
+
+    /**
+     * Answers like a downstream service behind Spring Security, whose default headers forbid caching.
+     */
+    private Mono<Void> downstreamRead(ServerWebExchange exchange) {
+        downstreamReads.incrementAndGet();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setCacheControl("no-cache, no-store, max-age=0, must-revalidate");
+        response.getHeaders().setPragma("no-cache");
+        response.getHeaders().setExpires(0);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private Mono<Void> downstreamWrite(ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        return exchange.getResponse().setComplete();
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("gateway.response.cache.requests").tag("result", result).counter().count();
+    }
+
+    private static ServerWebExchange get(String subject) {
+        return exchange(MockServerHttpRequest.get(PATH), subject);
+    }
+
+    private static ServerWebExchange post(String subject) {
+        return exchange(MockServerHttpRequest.post("/api/v1/cards/transfer"), subject);
+    }
+
+    private static ServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request, String subject) {
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject(subject).build();
+        return MockServerWebExchange.from(request).mutate()
+                .principal(Mono.just(new JwtAuthenticationToken(jwt)))
+                .build();
+    }
+}
@@ -5,6 +5,7 @@ dependencies {
     implementation(libs.spring.boot.starter.webclient)
     implementation(libs.spring.boot.starter.security)
     implementation(libs.spring.cloud.starter.circuitbreaker.reactor.resilience4j)
+    implementation(libs.caffeine)
 
     implementation(libs.spring.doc.flux)
 }
@@ -0,0 +1,84 @@
+package org.restbank.platform.auth.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Configures the HTTP client used to call Keycloak.
+ *
+ * <p>A single {@link WebClient} is shared by every call, backed by a dedicated, bounded Reactor Netty
+ * connection pool so connections to Keycloak are kept alive and reused across requests. Every call is
+ * counted by the {@code auth.keycloak.calls} counter, tagged with the URI template and the outcome.</p>
+ */
+@Configuration
+public class KeycloakClientConfig {
+    private static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName() + ".uriTemplate";
+
+    /**
+     * Creates the connection pool for calls to Keycloak.
+     *
+     * @param keycloakProperties The Keycloak configuration properties.
+     * @return The {@link ConnectionProvider}, disposed on shutdown.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider keycloakConnectionProvider(KeycloakProperties keycloakProperties) {
+        KeycloakProperties.Pool pool = keycloakProperties.pool();
+        return ConnectionProvider.builder("keycloak")
+                .maxConnections(pool.maxConnections())
+                .pendingAcquireTimeout(pool.pendingAcquireTimeout())
+                .maxIdleTime(pool.maxIdleTime())
+                .evictInBackground(pool.maxIdleTime())
+                .build();
+    }
+
+    /**
+     * Creates the {@link WebClient} for calls to Keycloak.
+     *
+     * @param webClientBuilder           The auto-configured {@link WebClient.Builder}.
+     * @param keycloakProperties         The Keycloak configuration properties.
+     * @param keycloakConnectionProvider The connection pool for calls to Keycloak.
+     * @param meterRegistry              The registry for the Keycloak call counter.
+     * @return A {@link WebClient} with the Keycloak server URL as its base URL.
+     */
+    @Bean
+    public WebClient keycloakWebClient(WebClient.Builder webClientBuilder,
+                                       KeycloakProperties keycloakProperties,
+                                       ConnectionProvider keycloakConnectionProvider,
+                                       MeterRegistry meterRegistry) {
+        HttpClient httpClient = HttpClient.create(keycloakConnectionProvider)
+                .responseTimeout(keycloakProperties.pool().responseTimeout());
+        return webClientBuilder
+                .baseUrl(keycloakProperties.serverUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(countCalls(meterRegistry))
+                .build();
+    }
+
+    private static ExchangeFilterFunction countCalls(MeterRegistry meterRegistry) {
+        return (request, next) -> {
+            String uri = request.attribute(URI_TEMPLATE_ATTRIBUTE)
+                    .map(Object::toString)
+                    .orElse("none");
+            return next.exchange(request)
+                    .doOnNext(response -> countCall(meterRegistry, uri, response.statusCode().is2xxSuccessful()
+                            ? "SUCCESS" : "HTTP_" + response.statusCode().value()))
+                    .doOnError(ex -> countCall(meterRegistry, uri, "IO_ERROR"));
+        };
+    }
+
+    private static void countCall(MeterRegistry meterRegistry, String uri, String outcome) {
+        Counter.builder("auth.keycloak.calls")
+                .description("Number of calls made to Keycloak")
+                .tag("uri", uri)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
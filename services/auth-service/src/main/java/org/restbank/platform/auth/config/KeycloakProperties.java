@@ -2,19 +2,63 @@ package org.restbank.platform.auth.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 /**
  * Configuration properties for Keycloak integration.
  *
- * @param serverUrl    The URL of the Keycloak server.
- * @param realm        The realm to be used for authentication.
- * @param clientId     The client ID for this application.
- * @param clientSecret The client secret for this application.
+ * @param serverUrl      The URL of the Keycloak server.
+ * @param realm          The realm to be used for authentication.
+ * @param clientId       The client ID for this application.
+ * @param clientSecret   The client secret for this application.
+ * @param pool           The connection pool used for calls to Keycloak.
+ * @param adminTokenSkew How long before its expiry a cached admin token is refreshed.
  */
 @ConfigurationProperties(prefix = "keycloak")
 public record KeycloakProperties(
         String serverUrl,
         String realm,
         String clientId,
-        String clientSecret
+        String clientSecret,
+        Pool pool,
+        Duration adminTokenSkew
 ) {
+    public KeycloakProperties {
+        if (pool == null) {
+            pool = new Pool(null, null, null, null);
+        }
+        if (adminTokenSkew == null) {
+            adminTokenSkew = Duration.ofSeconds(30);
+        }
+    }
+
+    /**
+     * Connection pool settings for the Keycloak client.
+     *
+     * @param maxConnections        The maximum number of open connections.
+     * @param pendingAcquireTimeout How long a request waits for a free connection before failing.
+     * @param maxIdleTime           How long an idle connection is kept open.
+     * @param responseTimeout       How long to wait for a response once a request has been sent.
+     */
+    public record Pool(
+            Integer maxConnections,
+            Duration pendingAcquireTimeout,
+            Duration maxIdleTime,
+            Duration responseTimeout
+    ) {
+        public Pool {
+            if (maxConnections == null) {
+                maxConnections = 50;
+            }
+            if (pendingAcquireTimeout == null) {
+                pendingAcquireTimeout = Duration.ofSeconds(5);
+            }
+            if (maxIdleTime == null) {
+                maxIdleTime = Duration.ofSeconds(30);
+            }
+            if (responseTimeout == null) {
+                responseTimeout = Duration.ofSeconds(10);
+            }
+        }
+    }
 }
@@ -8,6 +8,7 @@ import org.restbank.platform.auth.config.beans.CustomAuthenticationEntryPoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
@@ -32,6 +33,12 @@ public class SecurityConfig {
     private final CustomAuthenticationEntryPoint authenticationEntryPoint;
     private final CustomAccessDeniedHandler accessDeniedHandler;
 
+    /**
+     * The bulk registration endpoint, which is restricted to administrators even though it lives under the
+     * otherwise public authentication path.
+     */
+    private static final String BULK_REGISTRATION_PATH = "/api/v1/auth/register:bulk";
+
     /**
      * An array of paths that are permitted to be accessed without authentication.
      * This includes health checks, API documentation, and authentication endpoints.
@@ -45,8 +52,9 @@ public class SecurityConfig {
     /**
      * Creates and configures the main security filter chain for the service.
      *
-     * <p>This filter chain disables CSRF, defines authorization rules, and sets up
-     * custom exception handling for authentication and authorization failures.
+     * <p>This filter chain disables CSRF, defines authorization rules, validates bearer
+     * JWTs for protected endpoints, and sets up custom exception handling for authentication
+     * and authorization failures.
      *
      * @param http The {@link ServerHttpSecurity} to be configured.
      * @return The configured {@link SecurityWebFilterChain}.
@@ -56,9 +64,15 @@ public class SecurityConfig {
         http
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
                 .authorizeExchange(exchange -> exchange
+                        .pathMatchers(HttpMethod.POST, BULK_REGISTRATION_PATH).hasRole("ADMIN")
                         .pathMatchers(AUTH_WHITELIST).permitAll()
                         .anyExchange().authenticated()
                 )
+                .oauth2ResourceServer(oauth2 -> oauth2
+                        .jwt(jwt -> jwt.jwtAuthenticationConverter(grantedAuthoritiesExtractor()))
+                        .accessDeniedHandler(accessDeniedHandler)
+                        .authenticationEntryPoint(authenticationEntryPoint)
+                )
                 .exceptionHandling(ex -> ex
                         .accessDeniedHandler(accessDeniedHandler)
                         .authenticationEntryPoint(authenticationEntryPoint)
@@ -10,14 +10,18 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.restbank.platform.auth.dto.request.LoginRequest;
 import org.restbank.platform.auth.dto.request.RegistrationRequest;
+import org.restbank.platform.auth.dto.response.RegistrationResult;
 import org.restbank.platform.auth.dto.response.TokenResponse;
+import org.restbank.platform.auth.service.LoginService;
 import org.restbank.platform.auth.service.RegistrationService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @RestController
@@ -26,6 +30,7 @@ import reactor.core.publisher.Mono;
 @Tag(name = "Authentication", description = "Endpoints for user registration and login")
 public class AuthenticationController {
     private final RegistrationService registrationService;
+    private final LoginService loginService;
 
     @Operation(summary = "Register a new user",
             description = "Creates a new user in Keycloak and returns an access token.")
@@ -41,6 +46,24 @@ public class AuthenticationController {
                 .map(token -> ResponseEntity.status(HttpStatus.CREATED).body(token));
     }
 
+    @Operation(summary = "Register users in bulk",
+            description = "Creates users in Keycloak from a stream of newline-delimited JSON registrations and "
+                    + "streams one result per user as each creation completes. No access tokens are issued. "
+                    + "Requires the ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Registration results, one JSON object per line",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = RegistrationResult.class))),
+            @ApiResponse(responseCode = "401", description = "Not authenticated", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Not an administrator", content = @Content)
+    })
+    @PostMapping(value = "/register:bulk",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<RegistrationResult> registerBulk(@RequestBody Flux<RegistrationRequest> requests) {
+        return registrationService.createUsersInKeycloak(requests);
+    }
+
     @Operation(summary = "User login",
             description = "Authenticates a user and returns an access token.")
     @ApiResponses(value = {
@@ -50,7 +73,7 @@ public class AuthenticationController {
     })
     @PostMapping("/login")
     public Mono<ResponseEntity<TokenResponse>> login(@RequestBody LoginRequest request) {
-        return registrationService.login(request)
+        return loginService.login(request)
                 .map(ResponseEntity::ok);
     }
 
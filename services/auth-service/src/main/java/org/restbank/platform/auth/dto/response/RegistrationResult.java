@@ -0,0 +1,26 @@
+package org.restbank.platform.auth.dto.response;
+
+/**
+ * The outcome of one registration in a bulk registration request.
+ *
+ * @param index    The position of the registration in the request stream, starting at 0.
+ * @param username The username of the registered user.
+ * @param userId   The Keycloak ID of the created user, or {@code null} if the registration failed.
+ * @param success  Whether the user was created.
+ * @param error    The reason the registration failed, or {@code null} if it succeeded.
+ */
+public record RegistrationResult(
+        long index,
+        String username,
+        String userId,
+        boolean success,
+        String error
+) {
+    public static RegistrationResult succeeded(long index, String username, String userId) {
+        return new RegistrationResult(index, username, userId, true, null);
+    }
+
+    public static RegistrationResult failed(long index, String username, String error) {
+        return new RegistrationResult(index, username, null, false, error);
+    }
+}
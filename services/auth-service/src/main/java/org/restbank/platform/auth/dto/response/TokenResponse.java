@@ -3,6 +3,7 @@ package org.restbank.platform.auth.dto.response;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public record TokenResponse(
-        @JsonProperty("access_token") String accessToken
+        @JsonProperty("access_token") String accessToken,
+        @JsonProperty("expires_in") long expiresIn
 ) {
 }
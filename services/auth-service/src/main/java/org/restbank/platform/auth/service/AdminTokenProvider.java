@@ -0,0 +1,69 @@
+package org.restbank.platform.auth.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.restbank.platform.auth.config.KeycloakProperties;
+import org.restbank.platform.auth.dto.response.TokenResponse;
+import org.restbank.platform.auth.exception.AdminTokenException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Provides the admin access token used for calls to the Keycloak Admin API.
+ *
+ * <p>The token is obtained with the client credentials grant and cached until shortly before it expires, as
+ * reported by {@code expires_in} minus the configured skew. Concurrent callers share a single in-flight token
+ * request, so a burst of registrations results in one call to the token endpoint. Failures are not cached.</p>
+ */
+@Slf4j
+@Component
+public class AdminTokenProvider {
+    private final WebClient keycloakWebClient;
+    private final KeycloakProperties keycloakProperties;
+    private final Mono<TokenResponse> cachedToken;
+
+    public AdminTokenProvider(WebClient keycloakWebClient, KeycloakProperties keycloakProperties) {
+        this.keycloakWebClient = keycloakWebClient;
+        this.keycloakProperties = keycloakProperties;
+        this.cachedToken = fetchToken().cache(
+                this::timeToLive,
+                error -> Duration.ZERO,
+                () -> Duration.ZERO);
+    }
+
+    /**
+     * Returns a valid admin access token, requesting a new one only if the cached token is about to expire.
+     *
+     * @return A {@link Mono} containing a {@link TokenResponse} with the admin access token.
+     * @throws AdminTokenException if obtaining the token fails.
+     */
+    public Mono<TokenResponse> getAdminAccessToken() {
+        return cachedToken;
+    }
+
+    private Duration timeToLive(TokenResponse token) {
+        Duration ttl = Duration.ofSeconds(token.expiresIn()).minus(keycloakProperties.adminTokenSkew());
+        return ttl.isNegative() ? Duration.ZERO : ttl;
+    }
+
+    private Mono<TokenResponse> fetchToken() {
+        return keycloakWebClient
+                .post()
+                .uri("/realms/{realm}/protocol/openid-connect/token", keycloakProperties.realm())
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters
+                        .fromFormData("grant_type", "client_credentials")
+                        .with("client_id", keycloakProperties.clientId())
+                        .with("client_secret", keycloakProperties.clientSecret()))
+                .retrieve()
+                .onStatus(status -> !status.is2xxSuccessful(),
+                        resp -> resp.bodyToMono(String.class).defaultIfEmpty("no body")
+                                .flatMap(b -> Mono.error(new AdminTokenException("Keycloak admin token error: " + b))))
+                .bodyToMono(TokenResponse.class)
+                .doOnNext(token -> log.debug("Obtained Keycloak admin token valid for {}s", token.expiresIn()));
+    }
+}
@@ -0,0 +1,120 @@
+package org.restbank.platform.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.restbank.platform.auth.dto.request.LoginRequest;
+import org.restbank.platform.auth.dto.response.TokenResponse;
+import org.restbank.platform.auth.exception.KeycloakTokenException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * Service for user logins, coalescing identical login attempts.
+ *
+ * <p>Concurrent logins with the same username and password share a single call to Keycloak, and a successful
+ * result is reused by identical logins for a short window afterwards, so a client retrying on a flaky network
+ * costs one upstream call per burst. Attempts are keyed by the username and a salted SHA-256 hash of the
+ * password; the salt is random per instance and plain passwords are never kept. A failed login is evicted at
+ * once, so the next attempt goes to Keycloak again.</p>
+ *
+ * <p>Login latency is published as the {@code auth.login} timer with a percentile histogram, tagged with the
+ * outcome, and coalesced attempts are counted by {@code auth.login.coalesced}.</p>
+ */
+@Slf4j
+@Service
+public class LoginService {
+    private static final String OUTCOME = "outcome";
+
+    private final RegistrationService registrationService;
+    private final Cache<LoginKey, Mono<TokenResponse>> inFlight;
+    private final byte[] salt = new byte[16];
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    private final Counter coalescedCounter;
+
+    public LoginService(RegistrationService registrationService,
+                        MeterRegistry meterRegistry,
+                        @Value("${auth.login.coalesce-window:1s}") Duration coalesceWindow,
+                        @Value("${auth.login.max-entries:10000}") long maxEntries) {
+        this.registrationService = registrationService;
+        this.inFlight = Caffeine.newBuilder()
+                .expireAfterWrite(coalesceWindow)
+                .maximumSize(maxEntries)
+                .build();
+        new SecureRandom().nextBytes(salt);
+        this.successTimer = loginTimer(meterRegistry, "success");
+        this.failureTimer = loginTimer(meterRegistry, "failure");
+        this.coalescedCounter = Counter.builder("auth.login.coalesced")
+                .description("Number of logins served by an identical login already in flight or just completed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Authenticates a user with Keycloak and returns an access token, sharing the call with identical logins.
+     *
+     * @param loginRequest The user's login credentials.
+     * @return A {@link Mono} containing a {@link TokenResponse} with the access token.
+     * @throws KeycloakTokenException if authentication fails.
+     */
+    public Mono<TokenResponse> login(LoginRequest loginRequest) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start();
+            LoginKey key = keyOf(loginRequest);
+            boolean[] created = new boolean[1];
+            Mono<TokenResponse> shared = inFlight.get(key, k -> {
+                created[0] = true;
+                return upstreamLogin(k, loginRequest);
+            });
+            if (!created[0]) {
+                coalescedCounter.increment();
+                log.debug("Coalesced login of user {}", loginRequest.username());
+            }
+            return shared
+                    .doOnSuccess(token -> sample.stop(successTimer))
+                    .doOnError(ex -> sample.stop(failureTimer));
+        });
+    }
+
+    private Mono<TokenResponse> upstreamLogin(LoginKey key, LoginRequest loginRequest) {
+        return registrationService.login(loginRequest)
+                .doOnError(ex -> inFlight.invalidate(key))
+                .cache();
+    }
+
+    private LoginKey keyOf(LoginRequest loginRequest) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(salt);
+            byte[] hash = digest.digest(String.valueOf(loginRequest.password()).getBytes(StandardCharsets.UTF_8));
+            return new LoginKey(loginRequest.username(), HexFormat.of().formatHex(hash));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static Timer loginTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("auth.login")
+                .description("Latency of user logins, including coalesced ones")
+                .tag(OUTCOME, outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * The identity of a login attempt.
+     */
+    private record LoginKey(String username, String passwordHash) {
+    }
+}
@@ -3,32 +3,36 @@ package org.restbank.platform.auth.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 import org.restbank.platform.auth.config.KeycloakProperties;
 import org.restbank.platform.auth.dto.request.LoginRequest;
 import org.restbank.platform.auth.dto.request.RegistrationRequest;
+import org.restbank.platform.auth.dto.response.RegistrationResult;
 import org.restbank.platform.auth.dto.response.TokenResponse;
-import org.restbank.platform.auth.exception.AdminTokenException;
 import org.restbank.platform.auth.exception.KeycloakTokenException;
-import org.restbank.platform.auth.exception.UserNotFoundException;
-import org.springframework.core.ParameterizedTypeReference;
+import org.restbank.platform.auth.exception.UserCreationException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.net.URI;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service for handling user registration and login with Keycloak.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RegistrationService {
     private static final String GRANT_TYPE = "grant_type";
@@ -40,19 +44,24 @@ public class RegistrationService {
     private static final String ERROR = "error";
     private static final String ERROR_DESCRIPTION = "error_description";
     private static final String ERROR_MESSAGE = "errorMessage";
-    private static final String ID = "id";
 
-    private final WebClient.Builder webClientBuilder;
+    private final WebClient keycloakWebClient;
     private final KeycloakProperties keycloakProperties;
+    private final AdminTokenProvider adminTokenProvider;
+    private final Validator validator;
     private final ObjectMapper mapper = new ObjectMapper();
+    private final int bulkConcurrency;
 
-    /**
-     * Creates a WebClient instance for communicating with Keycloak.
-     *
-     * @return A configured {@link WebClient} instance.
-     */
-    private WebClient client() {
-        return webClientBuilder.baseUrl(keycloakProperties.serverUrl()).build();
+    public RegistrationService(WebClient keycloakWebClient,
+                               KeycloakProperties keycloakProperties,
+                               AdminTokenProvider adminTokenProvider,
+                               Validator validator,
+                               @Value("${auth.registration.bulk.concurrency:16}") int bulkConcurrency) {
+        this.keycloakWebClient = keycloakWebClient;
+        this.keycloakProperties = keycloakProperties;
+        this.adminTokenProvider = adminTokenProvider;
+        this.validator = validator;
+        this.bulkConcurrency = bulkConcurrency;
     }
 
     /**
@@ -63,7 +72,7 @@ public class RegistrationService {
      * @throws KeycloakTokenException if authentication fails.
      */
     public Mono<TokenResponse> login(LoginRequest loginRequest) {
-        return client()
+        return keycloakWebClient
                 .post()
                 .uri("/realms/{realm}/protocol/openid-connect/token", keycloakProperties.realm())
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED)
@@ -95,41 +104,90 @@ public class RegistrationService {
      *
      * <p>This method orchestrates the user creation process by:
      * <ol>
-     *     <li>Obtaining an admin access token.</li>
-     *     <li>Creating the user in Keycloak.</li>
-     *     <li>Retrieving the new user's ID.</li>
-     *     <li>Setting the user's password.</li>
+     *     <li>Obtaining the cached admin access token.</li>
+     *     <li>Creating the user in Keycloak, together with their password.</li>
      *     <li>Logging in as the new user to get an access token.</li>
      * </ol>
+     * Apart from an occasional admin token refresh, a registration costs two calls to Keycloak.
      *
      * @param userRequest The registration details for the new user.
      * @return A {@link Mono} containing a {@link TokenResponse} with the access token.
      */
     public Mono<TokenResponse> createUserInKeycloak(RegistrationRequest userRequest) {
-        return getAdminAccessToken()
-                .flatMap(token -> createUser(token, userRequest)
-                        .then(getUserId(token, userRequest.username()))
-                        .flatMap(userId -> resetPassword(token, userId, userRequest.password()))
-                        .then(login(new LoginRequest(userRequest.username(), userRequest.password()))));
+        return adminTokenProvider.getAdminAccessToken()
+                .flatMap(token -> createUser(token, userRequest))
+                .doOnNext(userId -> log.info("Created Keycloak user {} with id {}", userRequest.username(), userId))
+                .then(login(new LoginRequest(userRequest.username(), userRequest.password())));
+    }
+
+    /**
+     * Creates many users in Keycloak, without logging them in.
+     *
+     * <p>Registrations are validated individually and created with at most
+     * {@code auth.registration.bulk.concurrency} requests to Keycloak in flight, all sharing the cached admin
+     * token. A failed registration does not affect the others. Results are emitted as soon as each creation
+     * completes, so they may arrive out of order; {@link RegistrationResult#index()} identifies the
+     * registration each result belongs to.</p>
+     *
+     * @param userRequests The registrations to create.
+     * @return A {@link Flux} emitting one {@link RegistrationResult} per registration.
+     */
+    public Flux<RegistrationResult> createUsersInKeycloak(Flux<RegistrationRequest> userRequests) {
+        return userRequests
+                .index()
+                .flatMap(indexed -> createUserForBulk(indexed.getT1(), indexed.getT2()), bulkConcurrency);
+    }
+
+    private Mono<RegistrationResult> createUserForBulk(long index, RegistrationRequest userRequest) {
+        Set<ConstraintViolation<RegistrationRequest>> violations = validator.validate(userRequest);
+        if (!violations.isEmpty()) {
+            String error = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            return Mono.just(RegistrationResult.failed(index, userRequest.username(), error));
+        }
+        return adminTokenProvider.getAdminAccessToken()
+                .flatMap(token -> createUser(token, userRequest))
+                .map(userId -> RegistrationResult.succeeded(index, userRequest.username(), userId))
+                .onErrorResume(ex -> {
+                    log.warn("Bulk registration of user {} failed: {}", userRequest.username(), ex.getMessage());
+                    return Mono.just(RegistrationResult.failed(index, userRequest.username(), errorMessage(ex)));
+                });
+    }
+
+    private static String errorMessage(Throwable ex) {
+        if (ex instanceof KeycloakTokenException keycloakError && !keycloakError.getDetails().isEmpty()) {
+            return keycloakError.getDetails().values().iterator().next();
+        }
+        return ex.getMessage();
     }
 
     /**
      * Creates a user in Keycloak using an admin access token.
      *
+     * <p>The password is sent as a non-temporary credential in the user representation, and the ID of the new
+     * user is taken from the {@code Location} header of the response, so no further calls are needed.</p>
+     *
      * @param token       The admin access token.
      * @param userRequest The registration details for the new user.
-     * @return A {@link Mono} that completes when the user is created.
+     * @return A {@link Mono} containing the ID of the created user.
+     * @throws UserCreationException if Keycloak does not return the location of the created user.
      */
-    private Mono<Void> createUser(TokenResponse token, RegistrationRequest userRequest) {
-        Map<String, Object> user = Map.of(
-                USERNAME, userRequest.username(),
-                "email", userRequest.email(),
-                "enabled", true,
-                "firstName", userRequest.firstName(),
-                "lastName", userRequest.lastName()
-        );
+    private Mono<String> createUser(TokenResponse token, RegistrationRequest userRequest) {
+        Map<String, Object> user = new HashMap<>();
+        user.put(USERNAME, userRequest.username());
+        user.put("enabled", true);
+        user.put("firstName", userRequest.firstName());
+        if (userRequest.lastName() != null) user.put("lastName", userRequest.lastName());
+        if (userRequest.email() != null) user.put("email", userRequest.email());
+        user.put("credentials", List.of(Map.of(
+                "type", PASSWORD,
+                "value", userRequest.password(),
+                "temporary", false
+        )));
 
-        return client().
+        return keycloakWebClient.
                 post()
                 .uri("/admin/realms/{realm}/users", keycloakProperties.realm())
                 .headers(h -> h.setBearerAuth(token.accessToken()))
@@ -155,81 +213,14 @@ public class RegistrationService {
                                     }
                                 }))
                 .toBodilessEntity()
-                .then();
-    }
-
-    /**
-     * Sets the password for a user in Keycloak.
-     *
-     * @param token    The admin access token.
-     * @param userId   The ID of the user.
-     * @param password The new password for the user.
-     * @return A {@link Mono} that completes when the password is set.
-     */
-    private Mono<Void> resetPassword(TokenResponse token, String userId, String password) {
-        Map<String, Object> credential = Map.of(
-                "type", PASSWORD,
-                "value", password,
-                "temporary", false
-        );
-        return client()
-                .put()
-                .uri("/admin/realms/{realm}/users/{id}/reset-password", keycloakProperties.realm(), userId)
-                .headers(h -> h.setBearerAuth(token.accessToken()))
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(credential)
-                .retrieve()
-                .toBodilessEntity()
-                .then();
-    }
-
-    /**
-     * Retrieves the ID of a user from Keycloak by their username.
-     *
-     * @param token    The admin access token.
-     * @param username The username of the user to find.
-     * @return A {@link Mono} containing the user's ID.
-     * @throws UserNotFoundException if the user is not found.
-     */
-    private Mono<String> getUserId(TokenResponse token, String username) {
-        return client()
-                .get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/admin/realms/{realm}/users")
-                        .queryParam(USERNAME, username)
-                        .build(keycloakProperties.realm()))
-                .headers(h -> h.setBearerAuth(token.accessToken()))
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<Map<String, Object>>>() {
-                })
-                .flatMap(list -> {
-                    if (!list.isEmpty()) {
-                        Map<String, Object> user = list.getFirst();
-                        return Mono.just((String) user.get(ID));
+                .flatMap(response -> {
+                    URI location = response.getHeaders().getLocation();
+                    if (location == null) {
+                        return Mono.error(new UserCreationException(
+                                "Keycloak did not return the location of user " + userRequest.username()));
                     }
-                    return Mono.error(new UserNotFoundException(username));
+                    String path = location.getPath();
+                    return Mono.just(path.substring(path.lastIndexOf('/') + 1));
                 });
     }
-
-    /**
-     * Obtains an admin access token from Keycloak using client credentials.
-     *
-     * @return A {@link Mono} containing a {@link TokenResponse} with the admin access token.
-     * @throws AdminTokenException if obtaining the token fails.
-     */
-    private Mono<TokenResponse> getAdminAccessToken() {
-        return client()
-                .post()
-                .uri("/realms/{realm}/protocol/openid-connect/token", keycloakProperties.realm())
-                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-                .body(BodyInserters
-                        .fromFormData(GRANT_TYPE, "client_credentials")
-                        .with(CLIENT_ID, keycloakProperties.clientId())
-                        .with(CLIENT_SECRET, keycloakProperties.clientSecret()))
-                .retrieve()
-                .onStatus(status -> !status.is2xxSuccessful(),
-                        resp -> resp.bodyToMono(String.class).defaultIfEmpty("no body")
-                                .flatMap(b -> Mono.error(new AdminTokenException("Keycloak admin token error: " + b))))
-                .bodyToMono(TokenResponse.class);
-    }
 }
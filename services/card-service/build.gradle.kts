@@ -12,6 +12,7 @@ dependencies {
     implementation(libs.spring.doc.mvc)
 
     implementation(libs.resilience4j.spring.boot2)
+    implementation(libs.caffeine)
 
     implementation(libs.mapstruct)
     implementation(libs.lombok.mapstruct.binding)
@@ -22,6 +23,8 @@ dependencies {
     runtimeOnly(libs.postgresql)
     runtimeOnly(libs.h2)
 
+    testImplementation(libs.testcontainers.junit.jupiter)
+    testImplementation(libs.testcontainers.postgresql)
 }
 
 openApi {
@@ -8,19 +8,28 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.restbank.libs.api.security.Roles;
 import org.restbank.libs.api.util.JwtPrincipal;
 import org.restbank.service.card.dto.request.TransferRequest;
 import org.restbank.service.card.dto.response.CardResponse;
+import org.restbank.service.card.dto.response.TransferResult;
 import org.restbank.service.card.entity.CardBlockRequest;
 import org.restbank.service.card.repository.CardBlockRequestRepository;
+import org.restbank.service.card.service.BatchTransferService;
 import org.restbank.service.card.service.CardBlockRequestService;
 import org.restbank.service.card.service.CardService;
+import org.restbank.service.card.service.IdempotentTransferService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.PagedModel;
@@ -29,7 +38,8 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Objects;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
@@ -49,9 +59,13 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @Tag(name = "Cards", description = "Access and management of user cards")
 @Slf4j
 public class CardController {
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
 
     private final CardService service;
     private final CardBlockRequestService cardBlockRequestService;
+    private final BatchTransferService batchTransferService;
+    private final IdempotentTransferService idempotentTransferService;
     private final PagedResourcesAssembler<CardResponse> assembler;
     private final CardBlockRequestRepository cardBlockRequestRepository;
 
@@ -60,7 +74,8 @@ public class CardController {
      *
      * <p>This endpoint is accessible to both 'ADMIN' and 'USER' roles. Administrators receive a list
      * of all cards with masked details, while users can only see their own cards with full details.
-     * The response includes HATEOAS links for navigation and related actions.</p>
+     * The response includes HATEOAS links for navigation and related actions. Pending block requests for
+     * the whole page are looked up with a single query.</p>
      *
      * @param page The page number to retrieve (0-based).
      * @param size The number of cards per page.
@@ -90,19 +105,81 @@ public class CardController {
     ) {
         PageRequest pageRequest = PageRequest.of(page, size);
         Page<CardResponse> dtos = service.getCards(pageRequest, auth);
-        boolean isAdmin = auth.getAuthorities().stream()
-                .anyMatch(a -> Objects.equals(a.getAuthority(), "ROLE_ADMIN"));
+        boolean isAdmin = Roles.isAdmin(auth);
 
-        return ResponseEntity.ok(assembler.toModel(dtos, card -> {
-            EntityModel<CardResponse> model = EntityModel.of(card,
-                    linkTo(methodOn(CardController.class).getCard(card.getId(), auth)).withSelfRel());
+        Set<Long> pendingBlock = pendingBlockRequests(dtos.getContent(), isAdmin);
 
-            if (isAdmin && cardBlockRequestRepository.existsCardBlockRequestByCard_IdAndStatus(card.getId(), CardBlockRequest.Status.PENDING)) {
-                model.add(linkTo(methodOn(CardController.class).approveCardBlock(card.getId(), auth)).withRel("block-approve"));
-                model.add(linkTo(methodOn(CardController.class).refuseCardBlock(card.getId(), auth)).withRel("block-reject"));
+        return ResponseEntity.ok(assembler.toModel(dtos, card -> toModel(card, pendingBlock, auth)));
+    }
+
+    /**
+     * Retrieves a list of cards using keyset (cursor) pagination.
+     *
+     * <p>This endpoint is selected when the {@code limit} parameter is present. It returns the cards whose
+     * ID follows {@code after}, ordered by ID, and a {@code next} link carrying the cursor of the following
+     * page when there is one. It does not compute the total number of cards, and deep pages cost the same
+     * as the first one. Visibility and masking rules are the same as for the paginated listing.</p>
+     *
+     * @param after The ID of the last card of the previous page; omit to start from the beginning.
+     * @param limit The maximum number of cards to return.
+     * @param auth  The current authentication object, used to determine the user's roles and identity.
+     * @return A {@link ResponseEntity} containing a {@link CollectionModel} of {@link CardResponse} objects.
+     */
+    @SecurityRequirement(name = "BearerAuth")
+    @GetMapping(params = "limit")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    @Operation(
+            summary = "Get a list of cards using a cursor",
+            description = "Retrieves the cards following the given card ID. Admins can see all cards, while users can only see their own. The card details for admins are masked.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "A list of cards with a link to the next page, if any.",
+                            content = @Content(schema = @Schema(implementation = CollectionModel.class))
+                    )
             }
-            return model;
-        }));
+    )
+    public ResponseEntity<CollectionModel<EntityModel<CardResponse>>> getCardsAfter(
+            @Parameter(description = "ID of the last card of the previous page", example = "100")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of cards to return", example = "10")
+            @RequestParam @Min(1) @Max(1000) int limit,
+            Authentication auth
+    ) {
+        Slice<CardResponse> dtos = service.getCardsAfter(after, limit, auth);
+        boolean isAdmin = Roles.isAdmin(auth);
+
+        Set<Long> pendingBlock = pendingBlockRequests(dtos.getContent(), isAdmin);
+        List<EntityModel<CardResponse>> models = dtos.getContent().stream()
+                .map(card -> toModel(card, pendingBlock, auth))
+                .toList();
+
+        CollectionModel<EntityModel<CardResponse>> body = CollectionModel.of(models,
+                linkTo(methodOn(CardController.class).getCardsAfter(after, limit, auth)).withSelfRel());
+        if (dtos.hasNext()) {
+            Long last = dtos.getContent().getLast().getId();
+            body.add(linkTo(methodOn(CardController.class).getCardsAfter(last, limit, auth)).withRel(IanaLinkRelations.NEXT));
+        }
+        return ResponseEntity.ok(body);
+    }
+
+    private Set<Long> pendingBlockRequests(List<CardResponse> cards, boolean isAdmin) {
+        if (!isAdmin) {
+            return Set.of();
+        }
+        return cardBlockRequestRepository.findCardIdsWithPendingRequest(
+                cards.stream().map(CardResponse::getId).toList());
+    }
+
+    private EntityModel<CardResponse> toModel(CardResponse card, Set<Long> pendingBlock, Authentication auth) {
+        EntityModel<CardResponse> model = EntityModel.of(card,
+                linkTo(methodOn(CardController.class).getCard(card.getId(), auth)).withSelfRel());
+
+        if (pendingBlock.contains(card.getId())) {
+            model.add(linkTo(methodOn(CardController.class).approveCardBlock(card.getId(), auth)).withRel("block-approve"));
+            model.add(linkTo(methodOn(CardController.class).refuseCardBlock(card.getId(), auth)).withRel("block-reject"));
+        }
+        return model;
     }
 
     /**
@@ -141,8 +218,7 @@ public class CardController {
                 linkTo(methodOn(CardController.class).getCard(id, auth)).withSelfRel(),
                 linkTo(CardController.class).withRel("cards"));
 
-        boolean isAdmin = auth.getAuthorities().stream()
-                .anyMatch(a -> Objects.equals(a.getAuthority(), "ROLE_ADMIN"));
+        boolean isAdmin = Roles.isAdmin(auth);
 
         if (isAdmin && cardBlockRequestRepository.existsCardBlockRequestByCard_IdAndStatus(id, CardBlockRequest.Status.PENDING)) {
             model.add(linkTo(methodOn(CardController.class).approveCardBlock(id, auth)).withRel("block-approve"));
@@ -303,10 +379,13 @@ public class CardController {
      * Transfers funds between two cards.
      *
      * <p>This endpoint allows a user with the 'USER' role to transfer a specified amount of money
-     * from one of their cards to another. The user must be the owner of both cards.</p>
+     * from one of their cards to another. The user must be the owner of both cards. When an
+     * {@code Idempotency-Key} header is supplied, a repeated submission with the same key and body is not
+     * applied again; it is answered with status 200 and an {@code Idempotent-Replayed: true} header.</p>
      *
-     * @param request The {@link TransferRequest} containing the source and destination card IDs and the amount.
-     * @param auth    The current authentication object.
+     * @param request        The {@link TransferRequest} containing the source and destination card IDs and the amount.
+     * @param idempotencyKey An optional client-generated key identifying this transfer across retries.
+     * @param auth           The current authentication object.
      * @return A {@link ResponseEntity} with status 200 (OK) if the transfer is successful.
      */
     @SecurityRequirement(name = "BearerAuth")
@@ -321,16 +400,60 @@ public class CardController {
                             description = "The transfer was completed successfully."
                     ),
                     @ApiResponse(responseCode = "400", description = "Invalid transfer request (e.g., insufficient funds, invalid card numbers)."),
-                    @ApiResponse(responseCode = "403", description = "User does not own one or both of the cards.")
+                    @ApiResponse(responseCode = "403", description = "User does not own one or both of the cards."),
+                    @ApiResponse(responseCode = "409", description = "The idempotency key was already used for a different transfer.")
             }
     )
     public ResponseEntity<Void> transfer(
             @Parameter(description = "The details of the transfer, including source and destination card numbers and the amount.", required = true)
             @RequestBody @Valid TransferRequest request,
+            @Parameter(description = "Client-generated key that makes retries of the same transfer safe.")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) @Size(max = 255) String idempotencyKey,
+            Authentication auth
+    ) {
+        UUID userId = UUID.fromString(JwtPrincipal.getId(auth));
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            service.transfer(request, userId);
+            return ResponseEntity.ok().build();
+        }
+
+        boolean applied = idempotentTransferService.transfer(request, userId, idempotencyKey);
+        return applied
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.ok().header(IDEMPOTENT_REPLAYED_HEADER, "true").build();
+    }
+
+    /**
+     * Transfers funds for a batch of card pairs in a single request.
+     *
+     * <p>This endpoint allows a user with the 'USER' role to submit many transfers at once. The transfers are
+     * applied in submission order in chunked transactions, and a rejected transfer does not prevent the others
+     * from being applied. The response reports the outcome of every transfer.</p>
+     *
+     * @param requests The list of {@link TransferRequest}s to apply.
+     * @param auth     The current authentication object.
+     * @return A {@link ResponseEntity} containing one {@link TransferResult} per submitted transfer.
+     */
+    @SecurityRequirement(name = "BearerAuth")
+    @PostMapping("/transfers:batch")
+    @PreAuthorize("hasRole('USER')")
+    @Operation(
+            summary = "Transfer money between many pairs of cards",
+            description = "Applies a list of transfers between the user's own cards and returns the outcome of each one.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "The batch was processed. Each item reports whether its transfer succeeded."
+                    ),
+                    @ApiResponse(responseCode = "400", description = "The batch is empty or too large.")
+            }
+    )
+    public ResponseEntity<List<TransferResult>> transferBatch(
+            @Parameter(description = "The transfers to apply, in execution order.", required = true)
+            @RequestBody @NotEmpty @Size(max = 10_000) List<@Valid TransferRequest> requests,
             Authentication auth
     ) {
         String id = JwtPrincipal.getId(auth);
-        service.transfer(request, UUID.fromString(id));
-        return ResponseEntity.ok().build();
+        return ResponseEntity.ok(batchTransferService.transfer(requests, UUID.fromString(id)));
     }
 }
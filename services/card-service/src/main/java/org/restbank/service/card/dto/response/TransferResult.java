@@ -0,0 +1,36 @@
+package org.restbank.service.card.dto.response;
+
+/**
+ * Represents the outcome of a single transfer within a batch transfer request.
+ *
+ * <p>Results are returned in the same order as the submitted transfers, so {@code index} always matches
+ * the position of the transfer in the request body.</p>
+ *
+ * @param index      The position of the transfer in the submitted batch (0-based).
+ * @param fromCardId The ID of the card from which the funds were to be withdrawn.
+ * @param toCardId   The ID of the card to which the funds were to be deposited.
+ * @param success    {@code true} if the transfer was applied, {@code false} otherwise.
+ * @param error      The reason the transfer was rejected, or {@code null} if it succeeded.
+ */
+public record TransferResult(
+        int index,
+        Long fromCardId,
+        Long toCardId,
+        boolean success,
+        String error
+) {
+
+    /**
+     * Creates a result for a transfer that was applied.
+     */
+    public static TransferResult succeeded(int index, Long fromCardId, Long toCardId) {
+        return new TransferResult(index, fromCardId, toCardId, true, null);
+    }
+
+    /**
+     * Creates a result for a transfer that was rejected.
+     */
+    public static TransferResult failed(int index, Long fromCardId, Long toCardId, String error) {
+        return new TransferResult(index, fromCardId, toCardId, false, error);
+    }
+}
@@ -108,4 +108,24 @@ public class Card {
         if (amount.signum() <= 0) throw new InvalidAmountException("Amount must be positive.");
         balance = balance.add(amount);
     }
+
+    /**
+     * Moves a specified amount from this card to another card.
+     *
+     * <p>Both cards are validated before either balance changes, so a rejected transfer leaves
+     * both cards untouched.</p>
+     *
+     * @param target The card receiving the funds.
+     * @param amount The amount to transfer. Must be a positive value.
+     * @throws CardIsBlockedException if either card is blocked.
+     * @throws InvalidAmountException if the amount is not positive or if there are insufficient funds.
+     */
+    public void transferTo(Card target, BigDecimal amount) {
+        ensureNotBlocked();
+        target.ensureNotBlocked();
+        if (amount == null || amount.signum() <= 0) throw new InvalidAmountException("Amount must be positive.");
+        if (balance.compareTo(amount) < 0) throw new InvalidAmountException("Insufficient pounds.");
+        balance = balance.subtract(amount);
+        target.balance = target.balance.add(amount);
+    }
 }
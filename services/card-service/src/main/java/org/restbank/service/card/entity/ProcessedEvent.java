@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.restbank.libs.api.dto.event.EventType;
 
+import java.io.Serializable;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -17,9 +18,16 @@ import java.util.UUID;
  * to ensure that each event is processed exactly once. It stores the event's unique ID,
  * the ID of the aggregate it relates to, the event type, and the timestamp of when it was
  * processed.</p>
+ *
+ * <p>The table is partitioned by month on {@code occurred_at}, the creation time of the outbox row, and old
+ * partitions are dropped once they are past the outbox topic retention. The partition key has to be part of
+ * the primary key, so the key is {@code (event_id, occurred_at)}. Both values are carried by the event
+ * itself and are the same on every redelivery, so the key still rejects an event recorded before, and a
+ * lookup by key is pruned to a single partition.</p>
  */
 @Entity
 @Table(name = "processed_events")
+@IdClass(ProcessedEvent.Key.class)
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -46,9 +54,25 @@ public class ProcessedEvent {
     @Column(name = "event_type", nullable = false, updatable = false)
     private EventType eventType;
 
+    /**
+     * The timestamp indicating when the event was created in the outbox.
+     */
+    @Id
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private Instant occurredAt;
+
     /**
      * The timestamp indicating when the event was processed.
      */
-    @Column(name = "processed_at", nullable = false)
+    @Column(name = "processed_at", nullable = false, updatable = false)
     private Instant processedAt;
+
+    /**
+     * The primary key of a processed event.
+     *
+     * @param eventId    The unique identifier of the event.
+     * @param occurredAt The timestamp indicating when the event was created in the outbox.
+     */
+    public record Key(UUID eventId, Instant occurredAt) implements Serializable {
+    }
 }
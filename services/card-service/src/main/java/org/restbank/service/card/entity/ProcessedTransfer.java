@@ -0,0 +1,58 @@
+package org.restbank.service.card.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Represents a transfer that has been applied under a client-supplied idempotency key.
+ *
+ * <p>This entity is mapped to the "transfer_requests" table. A row is written in the same transaction
+ * as the transfer itself, so its presence proves the transfer was committed. The hash of the original
+ * request is kept to detect a key being reused for a different transfer. Rows are removed once they are
+ * older than the configured idempotency window.</p>
+ */
+@Entity
+@Table(name = "transfer_requests")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProcessedTransfer {
+
+    /**
+     * The unique identifier of the record.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The ID of the user who submitted the transfer.
+     */
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private UUID userId;
+
+    /**
+     * The value of the {@code Idempotency-Key} header supplied by the client.
+     */
+    @Column(name = "idempotency_key", nullable = false, updatable = false)
+    private String idempotencyKey;
+
+    /**
+     * The SHA-256 hash of the transfer request the key was first used with.
+     */
+    @Column(name = "request_hash", nullable = false, updatable = false, length = 64)
+    private String requestHash;
+
+    /**
+     * The timestamp indicating when the transfer was applied.
+     */
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+}
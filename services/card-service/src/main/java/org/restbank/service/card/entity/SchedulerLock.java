@@ -0,0 +1,53 @@
+package org.restbank.service.card.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Represents a named lease used to elect a single card-service instance to run a scheduled job.
+ *
+ * <p>This entity is mapped to the "scheduler_locks" table. The instance named in {@code lockedBy} owns
+ * the job until {@code lockedUntil}; after that, any instance may take the lease over. All timestamps are
+ * taken from the database clock, so instances do not need synchronized clocks.</p>
+ */
+@Entity
+@Table(name = "scheduler_locks")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SchedulerLock {
+
+    /**
+     * The name of the job the lease guards.
+     */
+    @Id
+    @Column(name = "name", nullable = false, updatable = false, length = 64)
+    private String name;
+
+    /**
+     * The identifier of the instance currently holding the lease.
+     */
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+
+    /**
+     * The timestamp when the lease was last acquired or renewed.
+     */
+    @Column(name = "locked_at", nullable = false)
+    private Instant lockedAt;
+
+    /**
+     * The timestamp when the lease expires unless renewed.
+     */
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+}
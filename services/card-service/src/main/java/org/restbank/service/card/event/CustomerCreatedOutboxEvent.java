@@ -0,0 +1,22 @@
+package org.restbank.service.card.event;
+
+import org.restbank.libs.api.dto.event.CustomerCreatedEvent;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A {@code CUSTOMER_CREATED} event read from the customer service outbox.
+ *
+ * @param eventId     The ID of the outbox row, used to deduplicate redeliveries.
+ * @param aggregateId The ID of the customer the event belongs to.
+ * @param occurredAt  The creation time of the outbox row, identical across redeliveries.
+ * @param event       The event payload.
+ */
+public record CustomerCreatedOutboxEvent(
+        UUID eventId,
+        String aggregateId,
+        Instant occurredAt,
+        CustomerCreatedEvent event
+) {
+}
@@ -0,0 +1,216 @@
+package org.restbank.service.card.event;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.restbank.libs.api.dto.event.CustomerCreatedEvent;
+import org.restbank.libs.api.dto.event.CustomerStatus;
+import org.restbank.libs.api.dto.event.EventType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Extracts {@code CUSTOMER_CREATED} events from customer service outbox messages with a streaming parser.
+ *
+ * <p>Messages are either Debezium change envelopes, where the outbox row is found under
+ * {@code payload.after}, or bare outbox rows. The parser reads the message in a single pass without
+ * building a tree: the connector {@code schema} and any other field it does not need are skipped, and
+ * parsing stops as soon as the row turns out not to be a {@code CUSTOMER_CREATED} event. The customer
+ * payload, which Debezium delivers as a JSON string, is read with a second streaming parser. The row's
+ * {@code created_at}, which Debezium delivers as an ISO-8601 string, becomes the event's occurrence time.</p>
+ *
+ * <p>Instances are thread-safe.</p>
+ */
+@Component
+public class OutboxEnvelopeParser {
+    private static final String CUSTOMER_CREATED = EventType.CUSTOMER_CREATED.name();
+
+    private final JsonFactory jsonFactory = JsonFactory.builder().build();
+
+    /**
+     * Parses an outbox message.
+     *
+     * @param message The raw message value.
+     * @return The event, or an empty {@link Optional} if the message is not a {@code CUSTOMER_CREATED} event.
+     * @throws IOException              if the message is not valid JSON.
+     * @throws IllegalArgumentException if an identifier, the creation time or the customer status is missing or
+     *                                  has an invalid value.
+     */
+    public Optional<CustomerCreatedOutboxEvent> parse(String message) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(message)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return Optional.empty();
+            }
+
+            OutboxRow root = new OutboxRow();
+            OutboxRow after = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if ("payload".equals(field) && token == JsonToken.START_OBJECT) {
+                    after = readEnvelopePayload(parser, root);
+                    if (after != null && after.rejected) {
+                        return Optional.empty();
+                    }
+                } else if (!readRowField(parser, field, token, root)) {
+                    return Optional.empty();
+                }
+            }
+
+            return (after != null ? after : root).toEvent();
+        }
+    }
+
+    /**
+     * Reads the object found under the top-level {@code payload} field. In a Debezium envelope it holds the
+     * {@code after} row; in a bare outbox row it is the customer payload itself, whose fields are collected
+     * into {@code root}.
+     */
+    private OutboxRow readEnvelopePayload(JsonParser parser, OutboxRow root) throws IOException {
+        OutboxRow after = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("after".equals(field) && token == JsonToken.START_OBJECT) {
+                after = new OutboxRow();
+                readRow(parser, after);
+                if (after.rejected) {
+                    return after;
+                }
+            } else if (!readCustomerField(parser, field, root)) {
+                parser.skipChildren();
+            }
+        }
+        return after;
+    }
+
+    private void readRow(JsonParser parser, OutboxRow row) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (!readRowField(parser, field, token, row)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reads one field of an outbox row.
+     *
+     * @return {@code false} if the row is not a {@code CUSTOMER_CREATED} event and parsing should stop.
+     */
+    private boolean readRowField(JsonParser parser, String field, JsonToken token, OutboxRow row) throws IOException {
+        if (!"payload".equals(field) && !token.isScalarValue()) {
+            parser.skipChildren();
+            if ("event_type".equals(field)) {
+                row.rejected = true;
+                return false;
+            }
+            return true;
+        }
+        switch (field) {
+            case "id" -> row.id = parser.getValueAsString();
+            case "aggregate_id" -> row.aggregateId = parser.getValueAsString();
+            case "created_at" -> row.createdAt = parser.getValueAsString();
+            case "event_type" -> {
+                if (!CUSTOMER_CREATED.equals(parser.getValueAsString())) {
+                    row.rejected = true;
+                    return false;
+                }
+                row.created = true;
+            }
+            case "payload" -> {
+                if (token == JsonToken.VALUE_STRING) {
+                    readCustomer(parser.getText(), row);
+                } else if (token == JsonToken.START_OBJECT) {
+                    readCustomerObject(parser, row);
+                }
+            }
+            default -> parser.skipChildren();
+        }
+        return true;
+    }
+
+    private void readCustomer(String payload, OutboxRow row) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(payload)) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                readCustomerObject(parser, row);
+            }
+        }
+    }
+
+    private void readCustomerObject(JsonParser parser, OutboxRow row) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (!readCustomerField(parser, field, row)) {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private boolean readCustomerField(JsonParser parser, String field, OutboxRow row) throws IOException {
+        if (!parser.currentToken().isScalarValue()) {
+            return false;
+        }
+        switch (field) {
+            case "id" -> {
+                String id = parser.getValueAsString();
+                row.customerId = id == null ? null : UUID.fromString(id);
+            }
+            case "status" -> {
+                String status = parser.getValueAsString();
+                row.status = status == null ? null : CustomerStatus.valueOf(status);
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Mutable accumulator for the fields of a single outbox row.
+     */
+    private static final class OutboxRow {
+        private String id;
+        private String aggregateId;
+        private boolean created;
+        private boolean rejected;
+        private String createdAt;
+        private UUID customerId;
+        private CustomerStatus status;
+
+        private Optional<CustomerCreatedOutboxEvent> toEvent() {
+            if (!created) {
+                return Optional.empty();
+            }
+            String eventId = id == null || id.isEmpty() ? aggregateId : id;
+            if (eventId == null) {
+                throw new IllegalArgumentException("Outbox row has neither id nor aggregate_id");
+            }
+            CustomerCreatedEvent event = new CustomerCreatedEvent(customerId, status);
+            return Optional.of(new CustomerCreatedOutboxEvent(
+                    UUID.fromString(eventId),
+                    aggregateId != null ? aggregateId : String.valueOf(customerId),
+                    occurredAt(),
+                    event));
+        }
+
+        private Instant occurredAt() {
+            if (createdAt == null) {
+                throw new IllegalArgumentException("Outbox row has no created_at");
+            }
+            try {
+                return Instant.parse(createdAt);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Outbox row has an invalid created_at: " + createdAt, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.restbank.service.card.event;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.restbank.service.card.service.UserService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans a batch of outbox events out to a fixed number of worker lanes and applies the lanes in parallel.
+ *
+ * <p>Events are assigned to a lane by their {@code aggregate_id}, so all events of one customer land in the
+ * same lane and are applied in the order they were received. Each lane is applied on its own virtual thread
+ * and in its own transaction. {@link #dispatch(List)} returns only once every lane has been applied, which
+ * keeps offset commits per poll: if a lane fails, the exception is rethrown and the whole batch is
+ * redelivered, which is safe because already applied events are skipped by their event id.</p>
+ *
+ * <p>The number of events waiting in or being applied by each lane is published as the
+ * {@code card.outbox.lane.depth} gauge. Consumer lag is published by the Kafka client metrics that are bound
+ * to the meter registry ({@code kafka.consumer.fetch.manager.records.lag.max}).</p>
+ */
+@Slf4j
+@Component
+public class OutboxLaneDispatcher {
+
+    private final UserService userService;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger[] laneDepths;
+
+    public OutboxLaneDispatcher(UserService userService,
+                                MeterRegistry meterRegistry,
+                                @Value("${card.kafka.outbox.lanes:8}") int lanes) {
+        if (lanes < 1) {
+            throw new IllegalArgumentException("card.kafka.outbox.lanes must be positive, was " + lanes);
+        }
+        this.userService = userService;
+        this.laneDepths = new AtomicInteger[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            AtomicInteger depth = new AtomicInteger();
+            laneDepths[lane] = depth;
+            Gauge.builder("card.outbox.lane.depth", depth, AtomicInteger::get)
+                    .description("Number of outbox events queued in a consumer lane")
+                    .tag("lane", String.valueOf(lane))
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Applies a batch of events, in parallel across aggregates and in order within an aggregate.
+     *
+     * @param events The events of one poll, in offset order.
+     * @return The number of events that were applied, excluding duplicates.
+     */
+    public int dispatch(List<CustomerCreatedOutboxEvent> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        if (laneDepths.length == 1 || events.size() == 1) {
+            return applyLane(laneOf(events.getFirst()), events);
+        }
+
+        List<List<CustomerCreatedOutboxEvent>> lanes = new ArrayList<>(laneDepths.length);
+        for (int lane = 0; lane < laneDepths.length; lane++) {
+            lanes.add(new ArrayList<>());
+        }
+        for (CustomerCreatedOutboxEvent event : events) {
+            lanes.get(laneOf(event)).add(event);
+        }
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>(laneDepths.length);
+        for (int lane = 0; lane < laneDepths.length; lane++) {
+            List<CustomerCreatedOutboxEvent> laneEvents = lanes.get(lane);
+            if (laneEvents.isEmpty()) {
+                continue;
+            }
+            int index = lane;
+            laneDepths[index].addAndGet(laneEvents.size());
+            futures.add(CompletableFuture.supplyAsync(() -> applyQueuedLane(index, laneEvents), executor));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return futures.stream().mapToInt(CompletableFuture::join).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.close();
+    }
+
+    private int applyLane(int lane, List<CustomerCreatedOutboxEvent> events) {
+        laneDepths[lane].addAndGet(events.size());
+        return applyQueuedLane(lane, events);
+    }
+
+    private int applyQueuedLane(int lane, List<CustomerCreatedOutboxEvent> events) {
+        try {
+            log.debug("Applying {} outbox events in lane {}", events.size(), lane);
+            return userService.applyCustomersCreated(events);
+        } finally {
+            laneDepths[lane].addAndGet(-events.size());
+        }
+    }
+
+    private int laneOf(CustomerCreatedOutboxEvent event) {
+        return Math.floorMod(event.aggregateId().hashCode(), laneDepths.length);
+    }
+}
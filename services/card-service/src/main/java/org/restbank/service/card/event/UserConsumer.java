@@ -1,22 +1,15 @@
 package org.restbank.service.card.event;
 
-import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.restbank.libs.api.dto.event.CustomerCreatedEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.restbank.libs.api.dto.event.EventType;
-import org.restbank.service.card.entity.ProcessedEvent;
-import org.restbank.service.card.repository.ProcessedEventRepository;
-import org.restbank.service.card.service.UserService;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
-import java.time.Instant;
-import java.util.Optional;
-import java.util.UUID;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A Kafka consumer responsible for listening to user-related events.
@@ -29,58 +22,41 @@ import java.util.UUID;
 @Service
 @RequiredArgsConstructor
 public class UserConsumer {
-    private final ObjectMapper objectMapper = new ObjectMapper(JsonFactory.builder().build());
-    private final UserService userService;
-    private final ProcessedEventRepository processedEventRepository;
+    private final OutboxEnvelopeParser outboxEnvelopeParser;
+    private final OutboxLaneDispatcher outboxLaneDispatcher;
 
     /**
-     * Listens for messages on the specified Kafka topic and processes them.
+     * Listens for batches of messages on the specified Kafka topic and processes them.
      *
-     * <p>This method is triggered whenever a new message is available on the
-     * "restbank.customer_schema.outbox" topic. It parses the message to extract the event
-     * details, checks for duplicate events, and if the event is a {@link EventType#CUSTOMER_CREATED}
-     * event, it delegates the processing to the {@link UserService}.</p>
+     * <p>This method receives every record returned by a single poll. It extracts the
+     * {@link EventType#CUSTOMER_CREATED} events, skipping other event types and malformed messages,
+     * and hands them to the {@link OutboxLaneDispatcher}, which applies them in parallel lanes while keeping
+     * the events of each customer in order. Offsets are committed once per batch, after every lane has been
+     * applied. The number of listener containers is set by {@code card.kafka.outbox.concurrency}; it should
+     * not exceed the partition count of the topic.</p>
      *
-     * @param message The raw message content from Kafka as a JSON string.
-     * @throws RuntimeException if the message cannot be parsed.
+     * @param records The records of the current poll, with message values as JSON strings.
      */
-    @KafkaListener(topics = "restbank.customer_schema.outbox", groupId = "user-sync-group")
-    public void listen(String message) {
-        log.info(message);
-        try {
-            JsonNode root = objectMapper.readTree(message);
-            JsonNode after = root.path("payload").path("after");
-            if (after.isMissingNode() || after.isNull()) {
-                after = root;
+    @KafkaListener(topics = "restbank.customer_schema.outbox", groupId = "user-sync-group", batch = "true",
+            concurrency = "${card.kafka.outbox.concurrency:1}")
+    public void listen(List<ConsumerRecord<String, String>> records) {
+        log.debug("Received {} outbox records", records.size());
+
+        List<CustomerCreatedOutboxEvent> events = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, String> record : records) {
+            if (record.value() == null) {
+                continue;
             }
-
-            Optional<EventType> eventTypeOpt =
-                    EventType.from(after.path("event_type").asText(null));
-
-            EventType eventType = eventTypeOpt.orElse(null);
-
-            if (!EventType.CUSTOMER_CREATED.equals(eventType)) {
-                return;
-            }
-
-            String outboxId = after.path("id").asText();
-            if (outboxId == null || outboxId.isEmpty()) outboxId = after.path("aggregate_id").asText();
-
-            if (processedEventRepository.existsById(UUID.fromString(outboxId))) {
-                return;
-            }
-
-            JsonNode payloadNode = after.path("payload");
-            if (payloadNode.isTextual()) {
-                payloadNode = objectMapper.readTree(payloadNode.asText());
+            try {
+                outboxEnvelopeParser.parse(record.value()).ifPresent(events::add);
+            } catch (IOException | IllegalArgumentException ex) {
+                log.error("Failed to process restbank.customer_schema.outbox record at offset {}",
+                        record.offset(), ex);
             }
+        }
 
-            CustomerCreatedEvent event = objectMapper.treeToValue(payloadNode, CustomerCreatedEvent.class);
-            userService.applyCustomerCreated(event);
-            processedEventRepository.save(new ProcessedEvent(event.getId(), outboxId, eventType, Instant.now()));
-
-        } catch (JsonProcessingException ex) {
-            log.error("Failed to process restbank.customer_schema.outbox", ex);
+        if (!events.isEmpty()) {
+            outboxLaneDispatcher.dispatch(events);
         }
     }
 }
@@ -0,0 +1,19 @@
+package org.restbank.service.card.exception;
+
+/**
+ * An exception thrown when a card operation is rejected because the card was changed by another transaction
+ * while the operation was being applied.
+ *
+ * <p>The request itself may be valid; retrying it is expected to succeed or to fail with the actual reason.</p>
+ */
+public class CardConcurrentlyModifiedException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code CardConcurrentlyModifiedException} with a detail message naming the card.
+     *
+     * @param cardId The ID of the card that was modified concurrently.
+     */
+    public CardConcurrentlyModifiedException(Long cardId) {
+        super("Card " + cardId + " was modified concurrently, please retry.");
+    }
+}
@@ -74,4 +74,34 @@ public class CardExceptionHandler {
         RestErrorResponse error = new RestErrorResponse(applicationName, HttpStatus.UNPROCESSABLE_CONTENT.toString(), ex.getMessage());
         return new ResponseEntity<>(error, HttpStatus.UNPROCESSABLE_CONTENT);
     }
+
+    /**
+     * Handles the {@link IdempotencyKeyReusedException}.
+     *
+     * <p>This method is triggered when a client reuses an idempotency key for a different transfer.
+     * It returns an HTTP 409 (Conflict) status with a standardized error response.</p>
+     *
+     * @param ex The caught {@link IdempotencyKeyReusedException}.
+     * @return A {@link ResponseEntity} containing a {@link RestErrorResponse} and an HTTP 409 status.
+     */
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<RestErrorResponse> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException ex) {
+        RestErrorResponse error = new RestErrorResponse(applicationName, HttpStatus.CONFLICT.toString(), ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles the {@link CardConcurrentlyModifiedException}.
+     *
+     * <p>This method is triggered when a transfer is rejected because a card changed while it was being
+     * applied. It returns an HTTP 409 (Conflict) status with a standardized error response.</p>
+     *
+     * @param ex The caught {@link CardConcurrentlyModifiedException}.
+     * @return A {@link ResponseEntity} containing a {@link RestErrorResponse} and an HTTP 409 status.
+     */
+    @ExceptionHandler(CardConcurrentlyModifiedException.class)
+    public ResponseEntity<RestErrorResponse> handleCardConcurrentlyModifiedException(CardConcurrentlyModifiedException ex) {
+        RestErrorResponse error = new RestErrorResponse(applicationName, HttpStatus.CONFLICT.toString(), ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
 }
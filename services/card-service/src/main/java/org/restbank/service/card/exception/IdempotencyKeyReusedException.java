@@ -0,0 +1,17 @@
+package org.restbank.service.card.exception;
+
+/**
+ * An exception thrown when an idempotency key is reused with a request that differs from the one
+ * it was first submitted with.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code IdempotencyKeyReusedException} with a detail message naming the reused key.
+     *
+     * @param idempotencyKey The idempotency key that was reused.
+     */
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super("Idempotency key '" + idempotencyKey + "' was already used for a different transfer.");
+    }
+}
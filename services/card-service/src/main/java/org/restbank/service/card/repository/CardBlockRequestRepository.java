@@ -2,9 +2,13 @@ package org.restbank.service.card.repository;
 
 import org.restbank.service.card.entity.CardBlockRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * A repository for managing {@link CardBlockRequest} entities.
@@ -32,4 +36,28 @@ public interface CardBlockRequestRepository extends JpaRepository<CardBlockReque
      * @return {@code true} if a matching request exists, {@code false} otherwise.
      */
     boolean existsCardBlockRequestByCard_IdAndStatus(Long cardId, CardBlockRequest.Status status);
+
+    /**
+     * Finds which of the given cards have a block request in the given status.
+     *
+     * @param cardIds The IDs of the cards to check.
+     * @param status  The status of the block request.
+     * @return The IDs of the cards, among {@code cardIds}, that have a matching request.
+     */
+    @Query("select distinct r.card.id from CardBlockRequest r where r.card.id in :cardIds and r.status = :status")
+    Set<Long> findCardIdsByStatus(@Param("cardIds") Collection<Long> cardIds,
+                                  @Param("status") CardBlockRequest.Status status);
+
+    /**
+     * Finds which of the given cards have a pending block request, using a single query.
+     *
+     * @param cardIds The IDs of the cards to check.
+     * @return The IDs of the cards, among {@code cardIds}, that have a pending block request.
+     */
+    default Set<Long> findCardIdsWithPendingRequest(Collection<Long> cardIds) {
+        if (cardIds.isEmpty()) {
+            return Set.of();
+        }
+        return findCardIdsByStatus(cardIds, CardBlockRequest.Status.PENDING);
+    }
 }
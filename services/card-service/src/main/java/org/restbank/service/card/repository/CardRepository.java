@@ -1,13 +1,24 @@
 package org.restbank.service.card.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.restbank.service.card.entity.Card;
 import org.restbank.service.card.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.YearMonth;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,18 +26,40 @@ import java.util.UUID;
  * A repository for managing {@link Card} entities.
  *
  * <p>This interface extends {@link JpaRepository} to provide standard CRUD operations and includes
- * custom query methods for finding cards by expiry date, owner, and for checking ownership.</p>
+ * custom query methods for expiring cards, finding cards by owner, for checking ownership and for
+ * locking cards that take part in a balance change.</p>
  */
 @Repository
 public interface CardRepository extends JpaRepository<Card, Long> {
 
     /**
-     * Finds all cards that have a specific expiry date.
+     * Marks up to {@code chunkSize} cards that expire in or before the given month as expired.
      *
-     * @param now The {@link YearMonth} representing the expiry date to search for.
-     * @return A list of cards that expire in the given month and year.
+     * <p>Only cards that are not expired yet are touched. Candidate rows are claimed with
+     * {@code FOR UPDATE SKIP LOCKED}, so rows locked by an in-flight transfer are left for the next run
+     * instead of stalling the update. Each call runs in its own short transaction.</p>
+     *
+     * @param expiredStatusId The ID of the EXPIRED card status.
+     * @param expiryDate      The first day of the month up to which cards are expired.
+     * @param chunkSize       The maximum number of cards to update.
+     * @return The number of cards marked as expired.
      */
-    List<Card> findByExpiryDate(YearMonth now);
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE cards SET status_id = :expiredStatusId
+            WHERE id IN (
+                SELECT id FROM cards
+                WHERE expiry_date <= :expiryDate
+                  AND status_id <> :expiredStatusId
+                ORDER BY id
+                LIMIT :chunkSize
+                FOR UPDATE SKIP LOCKED
+            )
+            """, nativeQuery = true)
+    int markExpired(@Param("expiredStatusId") Integer expiredStatusId,
+                    @Param("expiryDate") LocalDate expiryDate,
+                    @Param("chunkSize") int chunkSize);
 
     /**
      * Finds all cards belonging to a specific user, with pagination.
@@ -37,6 +70,30 @@ public interface CardRepository extends JpaRepository<Card, Long> {
      */
     Page<Card> findAllByUser(User user, Pageable pageable);
 
+    /**
+     * Finds the cards whose ID is greater than the given one, ordered by ID.
+     *
+     * <p>Used for keyset pagination: the seek predicate uses the primary key index, so the cost of a
+     * page does not depend on how deep it is, and no count query is issued.</p>
+     *
+     * @param after    The ID of the last card of the previous page.
+     * @param pageable The page size; the page number is ignored by callers and should be {@code 0}.
+     * @return A {@link Slice} of cards following {@code after}.
+     */
+    Slice<Card> findByIdGreaterThanOrderByIdAsc(Long after, Pageable pageable);
+
+    /**
+     * Finds the cards of a user whose ID is greater than the given one, ordered by ID.
+     *
+     * <p>Used for keyset pagination of a single user's cards, backed by the {@code (user_id, id)} index.</p>
+     *
+     * @param userId   The UUID of the user.
+     * @param after    The ID of the last card of the previous page.
+     * @param pageable The page size; the page number is ignored by callers and should be {@code 0}.
+     * @return A {@link Slice} of the user's cards following {@code after}.
+     */
+    Slice<Card> findByUser_IdAndIdGreaterThanOrderByIdAsc(UUID userId, Long after, Pageable pageable);
+
     /**
      * Checks if a card with a specific ID is owned by a user with the given UUID.
      *
@@ -45,4 +102,59 @@ public interface CardRepository extends JpaRepository<Card, Long> {
      * @return {@code true} if the card exists and is owned by the user, {@code false} otherwise.
      */
     boolean existsByIdAndUser_Id(Long cardId, UUID userId);
+
+    /**
+     * Loads the cards with the given IDs and locks their rows with {@code SELECT ... FOR UPDATE}.
+     *
+     * <p>Rows are returned, and therefore locked, in ascending ID order regardless of the order of
+     * {@code ids}, so two transactions locking overlapping sets of cards through this method acquire the
+     * locks in the same order and cannot deadlock each other.</p>
+     *
+     * @param ids The IDs of the cards to lock.
+     * @return The locked cards ordered by ID; cards that do not exist are absent from the list.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
+    @Query("select c from Card c where c.id in :ids order by c.id")
+    List<Card> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Atomically debits a card owned by the given user.
+     *
+     * <p>The update only applies when the card belongs to the user, is not blocked and holds at least
+     * {@code amount}; otherwise no row is touched and the caller is expected to work out why.</p>
+     *
+     * @param cardId The ID of the card to debit.
+     * @param userId The UUID of the user who must own the card.
+     * @param amount The amount to subtract from the balance.
+     * @return The number of updated rows, {@code 1} on success and {@code 0} if the debit was rejected.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE cards SET balance = balance - :amount
+            WHERE id = :cardId
+              AND user_id = :userId
+              AND balance >= :amount
+              AND status_id <> (SELECT s.id FROM card_statuses s WHERE s.name = 'BLOCKED')
+            """, nativeQuery = true)
+    int debit(@Param("cardId") Long cardId, @Param("userId") UUID userId, @Param("amount") BigDecimal amount);
+
+    /**
+     * Atomically credits a card owned by the given user.
+     *
+     * <p>The update only applies when the card belongs to the user and is not blocked.</p>
+     *
+     * @param cardId The ID of the card to credit.
+     * @param userId The UUID of the user who must own the card.
+     * @param amount The amount to add to the balance.
+     * @return The number of updated rows, {@code 1} on success and {@code 0} if the credit was rejected.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE cards SET balance = balance + :amount
+            WHERE id = :cardId
+              AND user_id = :userId
+              AND status_id <> (SELECT s.id FROM card_statuses s WHERE s.name = 'BLOCKED')
+            """, nativeQuery = true)
+    int credit(@Param("cardId") Long cardId, @Param("userId") UUID userId, @Param("amount") BigDecimal amount);
 }
@@ -0,0 +1,70 @@
+package org.restbank.service.card.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A JDBC repository for managing the monthly partitions of the "processed_events" table.
+ *
+ * <p>Monthly partitions are named {@code processed_events_pYYYYMM} and cover one calendar month in UTC.
+ * Rows that fall outside every monthly partition land in {@code processed_events_default}, which is never
+ * dropped.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProcessedEventPartitionRepository {
+    private static final Pattern PARTITION_NAME = Pattern.compile("processed_events_p(\\d{6})");
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates the partition for the given month unless it already exists.
+     *
+     * @param month The month the partition covers.
+     */
+    public void createPartition(YearMonth month) {
+        jdbcTemplate.queryForObject("SELECT create_processed_events_partition(?)", String.class, month.atDay(1));
+    }
+
+    /**
+     * Lists the months that currently have a partition.
+     *
+     * @return The months, in no particular order.
+     */
+    public List<YearMonth> findPartitionMonths() {
+        return jdbcTemplate.queryForList("""
+                        SELECT c.relname
+                        FROM pg_inherits i
+                        JOIN pg_class c ON c.oid = i.inhrelid
+                        WHERE i.inhparent = 'processed_events'::regclass
+                        """, String.class).stream()
+                .map(ProcessedEventPartitionRepository::monthOf)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    /**
+     * Drops the partition of the given month together with every row it holds.
+     *
+     * @param month The month whose partition to drop.
+     */
+    public void dropPartition(YearMonth month) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS processed_events_p" + month.format(PARTITION_MONTH));
+    }
+
+    private static Optional<YearMonth> monthOf(String partitionName) {
+        Matcher matcher = PARTITION_NAME.matcher(partitionName);
+        return matcher.matches()
+                ? Optional.of(YearMonth.parse(matcher.group(1), PARTITION_MONTH))
+                : Optional.empty();
+    }
+}
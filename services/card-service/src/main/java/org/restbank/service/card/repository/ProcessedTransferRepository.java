@@ -0,0 +1,80 @@
+package org.restbank.service.card.repository;
+
+import org.restbank.service.card.entity.ProcessedTransfer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * A repository for managing {@link ProcessedTransfer} entities.
+ *
+ * <p>This interface extends {@link JpaRepository} and provides the queries used to claim an idempotency key,
+ * to look up the request a key was first used with and to prune expired keys.</p>
+ */
+@Repository
+public interface ProcessedTransferRepository extends JpaRepository<ProcessedTransfer, Long> {
+
+    /**
+     * Claims an idempotency key for a user.
+     *
+     * <p>If another transaction holds an uncommitted claim on the same key, this statement waits for it to
+     * finish, so concurrent duplicates are serialized by the unique constraint.</p>
+     *
+     * @param userId         The ID of the user submitting the transfer.
+     * @param idempotencyKey The client-supplied idempotency key.
+     * @param requestHash    The hash of the transfer request.
+     * @param createdAt      The time the key is claimed.
+     * @return {@code 1} if the key was claimed, {@code 0} if it had already been used.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO transfer_requests (user_id, idempotency_key, request_hash, created_at)
+            VALUES (:userId, :idempotencyKey, :requestHash, :createdAt)
+            ON CONFLICT (user_id, idempotency_key) DO NOTHING
+            """, nativeQuery = true)
+    int claim(@Param("userId") UUID userId,
+              @Param("idempotencyKey") String idempotencyKey,
+              @Param("requestHash") String requestHash,
+              @Param("createdAt") Instant createdAt);
+
+    /**
+     * Finds the hash of the request a user's idempotency key was first used with.
+     *
+     * @param userId         The ID of the user.
+     * @param idempotencyKey The client-supplied idempotency key.
+     * @return An {@link Optional} containing the stored request hash, or empty if the key is unknown.
+     */
+    @Query("select p.requestHash from ProcessedTransfer p where p.userId = :userId and p.idempotencyKey = :idempotencyKey")
+    Optional<String> findRequestHash(@Param("userId") UUID userId, @Param("idempotencyKey") String idempotencyKey);
+
+    /**
+     * Deletes at most {@code batchSize} of the oldest idempotency records created before the given instant.
+     *
+     * <p>The rows are selected through the {@code created_at} index and deleted by their physical location
+     * ({@code ctid}). Rows locked by a concurrent transaction are skipped rather than waited for. Each call runs
+     * in its own short transaction.</p>
+     *
+     * @param threshold The instant before which records are considered expired.
+     * @param batchSize The maximum number of records to delete.
+     * @return The number of deleted records.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM transfer_requests
+            WHERE ctid = ANY(ARRAY(
+                SELECT ctid FROM transfer_requests
+                WHERE created_at < :threshold
+                ORDER BY created_at
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED))
+            """, nativeQuery = true)
+    int deleteCreatedBefore(@Param("threshold") Instant threshold, @Param("batchSize") int batchSize);
+}
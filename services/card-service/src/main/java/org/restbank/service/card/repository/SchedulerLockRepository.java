@@ -0,0 +1,59 @@
+package org.restbank.service.card.repository;
+
+import org.restbank.service.card.entity.SchedulerLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * A repository for managing {@link SchedulerLock} entities.
+ *
+ * <p>This interface extends {@link JpaRepository} and provides atomic statements to acquire, renew and
+ * release a lease. Lease times are computed with the database clock.</p>
+ */
+@Repository
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    /**
+     * Acquires or renews a lease in a single statement.
+     *
+     * <p>The lease is granted if it does not exist yet, if it has expired, or if it is already held by
+     * {@code owner}, in which case it is extended.</p>
+     *
+     * @param name         The name of the lease.
+     * @param owner        The identifier of the instance requesting the lease.
+     * @param leaseSeconds The duration of the lease in seconds.
+     * @return {@code 1} if the caller holds the lease, {@code 0} if another instance does.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO scheduler_locks (name, locked_by, locked_at, locked_until)
+            VALUES (:name, :owner, now(), now() + make_interval(secs => :leaseSeconds))
+            ON CONFLICT (name) DO UPDATE
+                SET locked_by = EXCLUDED.locked_by,
+                    locked_at = EXCLUDED.locked_at,
+                    locked_until = EXCLUDED.locked_until
+                WHERE scheduler_locks.locked_until <= now()
+                   OR scheduler_locks.locked_by = EXCLUDED.locked_by
+            """, nativeQuery = true)
+    int tryAcquire(@Param("name") String name, @Param("owner") String owner, @Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * Releases a lease held by the given owner so that another instance can take it over immediately.
+     *
+     * @param name  The name of the lease.
+     * @param owner The identifier of the instance holding the lease.
+     * @return {@code 1} if the lease was released, {@code 0} if the caller did not hold it.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE scheduler_locks SET locked_until = now()
+            WHERE name = :name AND locked_by = :owner
+            """, nativeQuery = true)
+    int release(@Param("name") String name, @Param("owner") String owner);
+}
@@ -0,0 +1,169 @@
+package org.restbank.service.card.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.restbank.service.card.entity.ProcessedEvent;
+import org.restbank.service.card.entity.User;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * A JDBC repository for writing synchronized users and processed events in bulk.
+ *
+ * <p>Statements are sent as JDBC batches or as single statements over column arrays and skip the persistence
+ * context entirely, which makes applying a whole Kafka poll cost a handful of round trips instead of several
+ * per event. Both writes are idempotent, so a redelivered batch can be applied again safely.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserSyncJdbcRepository {
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the given users, updating the status of users that already exist.
+     *
+     * @param users The users to insert or update.
+     */
+    public void upsertUsers(Collection<User> users) {
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO users (id, status) VALUES (?, ?)
+                        ON CONFLICT (id) DO UPDATE SET status = EXCLUDED.status
+                        """,
+                users, BATCH_SIZE,
+                (ps, user) -> {
+                    ps.setObject(1, user.getId());
+                    ps.setString(2, user.getStatus().name());
+                });
+    }
+
+    /**
+     * Records the given events as processed, ignoring events that were already recorded.
+     *
+     * <p>All events are sent in one statement as column arrays. The primary key {@code (event_id, occurred_at)}
+     * of the partitioned "processed_events" table rejects an event recorded before, since a redelivery carries
+     * the same ID and creation time, so a redelivered event never adds a second row. The recorded events are
+     * read from {@code RETURNING} rather than from update counts, which the driver does not report per row
+     * once {@code reWriteBatchedInserts} rewrites a batch.</p>
+     *
+     * @param events The processed events to record, at most one per ID.
+     * @return The number of events that were recorded.
+     */
+    public int insertProcessedEvents(Collection<ProcessedEvent> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        int size = events.size();
+        UUID[] eventIds = new UUID[size];
+        String[] aggregateIds = new String[size];
+        String[] eventTypes = new String[size];
+        Timestamp[] occurredAt = new Timestamp[size];
+        Timestamp[] processedAt = new Timestamp[size];
+        int i = 0;
+        for (ProcessedEvent event : events) {
+            eventIds[i] = event.getEventId();
+            aggregateIds[i] = event.getAggregateId();
+            eventTypes[i] = event.getEventType().name();
+            occurredAt[i] = Timestamp.from(event.getOccurredAt());
+            processedAt[i] = Timestamp.from(event.getProcessedAt());
+            i++;
+        }
+
+        List<UUID> recorded = jdbcTemplate.query(connection -> {
+                    PreparedStatement ps = connection.prepareStatement("""
+                            INSERT INTO processed_events (event_id, aggregate_id, event_type, occurred_at, processed_at)
+                            SELECT * FROM unnest(?::uuid[], ?::varchar[], ?::varchar[], ?::timestamptz[],
+                                                 ?::timestamptz[])
+                            ON CONFLICT (event_id, occurred_at) DO NOTHING
+                            RETURNING event_id
+                            """);
+                    ps.setArray(1, connection.createArrayOf("uuid", eventIds));
+                    ps.setArray(2, connection.createArrayOf("varchar", aggregateIds));
+                    ps.setArray(3, connection.createArrayOf("varchar", eventTypes));
+                    ps.setArray(4, connection.createArrayOf("timestamptz", occurredAt));
+                    ps.setArray(5, connection.createArrayOf("timestamptz", processedAt));
+                    return ps;
+                },
+                (rs, rowNum) -> rs.getObject(1, UUID.class));
+        return recorded.size();
+    }
+
+    /**
+     * Returns which of the given events were already processed, with a single primary key lookup.
+     *
+     * <p>The lookup is bounded by the earliest and latest creation time of the given events, so only the
+     * partitions covering them are scanned, usually just the current month.</p>
+     *
+     * @param keys The keys of the events to check.
+     * @return The IDs among {@code keys} that were already processed.
+     */
+    public Set<UUID> findProcessedEventIds(Collection<ProcessedEvent.Key> keys) {
+        Set<UUID> processed = new HashSet<>();
+        if (keys.isEmpty()) {
+            return processed;
+        }
+        int size = keys.size();
+        UUID[] eventIds = new UUID[size];
+        Timestamp[] occurredAt = new Timestamp[size];
+        Instant from = Instant.MAX;
+        Instant to = Instant.MIN;
+        int i = 0;
+        for (ProcessedEvent.Key key : keys) {
+            eventIds[i] = key.eventId();
+            occurredAt[i] = Timestamp.from(key.occurredAt());
+            from = key.occurredAt().isBefore(from) ? key.occurredAt() : from;
+            to = key.occurredAt().isAfter(to) ? key.occurredAt() : to;
+            i++;
+        }
+        Timestamp lower = Timestamp.from(from);
+        Timestamp upper = Timestamp.from(to);
+
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement("""
+                            SELECT p.event_id
+                            FROM processed_events p
+                            JOIN unnest(?::uuid[], ?::timestamptz[]) AS k(event_id, occurred_at)
+                              ON p.event_id = k.event_id AND p.occurred_at = k.occurred_at
+                            WHERE p.occurred_at BETWEEN ? AND ?
+                            """);
+                    ps.setArray(1, connection.createArrayOf("uuid", eventIds));
+                    ps.setArray(2, connection.createArrayOf("timestamptz", occurredAt));
+                    ps.setTimestamp(3, lower);
+                    ps.setTimestamp(4, upper);
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> processed.add(rs.getObject(1, UUID.class)));
+        return processed;
+    }
+
+    /**
+     * Streams the IDs of the events created in the outbox at or after the given instant. Only the partitions
+     * from that instant on are read.
+     *
+     * @param since    The earliest creation time to include.
+     * @param consumer Receives each event ID.
+     */
+    public void forEachEventIdOccurredSince(Instant since, Consumer<UUID> consumer) {
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(
+                            "SELECT event_id FROM processed_events WHERE occurred_at >= ?");
+                    ps.setFetchSize(BATCH_SIZE);
+                    ps.setTimestamp(1, Timestamp.from(since));
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> consumer.accept(rs.getObject(1, UUID.class)));
+    }
+}
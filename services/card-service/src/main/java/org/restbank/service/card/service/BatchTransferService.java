@@ -0,0 +1,125 @@
+package org.restbank.service.card.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.restbank.service.card.dto.request.TransferRequest;
+import org.restbank.service.card.dto.response.TransferResult;
+import org.restbank.service.card.entity.Card;
+import org.restbank.service.card.exception.CardIsBlockedException;
+import org.restbank.service.card.exception.CardNotFoundException;
+import org.restbank.service.card.exception.InvalidAmountException;
+import org.restbank.service.card.exception.IsNotOwnerException;
+import org.restbank.service.card.repository.CardRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service that applies many transfers of a single user in one call.
+ *
+ * <p>The batch is split into chunks and every chunk runs in its own transaction: all cards referenced by the
+ * chunk are loaded and locked with one ordered {@code SELECT ... FOR UPDATE}, the transfers are applied in
+ * memory in request order and the changed balances are flushed as batched updates on commit. A rejected
+ * transfer does not affect the others; its reason is reported in the per-item result.</p>
+ */
+@Slf4j
+@Service
+public class BatchTransferService {
+
+    private final CardRepository cardRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public BatchTransferService(CardRepository cardRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${card.transfer.batch.chunk-size:500}") int chunkSize) {
+        this.cardRepository = cardRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Applies a list of transfers on behalf of a user.
+     *
+     * @param requests The transfers to apply, in the order they should be executed.
+     * @param userId   The ID of the user initiating the transfers; they must own every card involved.
+     * @return One {@link TransferResult} per submitted transfer, in submission order.
+     */
+    public List<TransferResult> transfer(List<TransferRequest> requests, UUID userId) {
+        log.debug("batch transfer called with {} transfers by userId={}", requests.size(), userId);
+
+        List<TransferResult> results = new ArrayList<>(requests.size());
+        for (int start = 0; start < requests.size(); start += chunkSize) {
+            int end = Math.min(start + chunkSize, requests.size());
+            results.addAll(transferChunk(requests.subList(start, end), start, userId));
+        }
+
+        long succeeded = results.stream().filter(TransferResult::success).count();
+        log.info("Batch transfer by userId={} completed: {} succeeded, {} failed",
+                userId, succeeded, results.size() - succeeded);
+        return results;
+    }
+
+    private List<TransferResult> transferChunk(List<TransferRequest> chunk, int offset, UUID userId) {
+        try {
+            return transactionTemplate.execute(status -> applyChunk(chunk, offset, userId));
+        } catch (RuntimeException e) {
+            log.error("Batch transfer chunk at offset {} rolled back for userId={}", offset, userId, e);
+            List<TransferResult> failed = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                TransferRequest request = chunk.get(i);
+                failed.add(TransferResult.failed(offset + i, request.fromCardId(), request.toCardId(),
+                        "Transfer could not be committed, please retry."));
+            }
+            return failed;
+        }
+    }
+
+    private List<TransferResult> applyChunk(List<TransferRequest> chunk, int offset, UUID userId) {
+        Set<Long> cardIds = new TreeSet<>();
+        for (TransferRequest request : chunk) {
+            if (request.fromCardId() != null) cardIds.add(request.fromCardId());
+            if (request.toCardId() != null) cardIds.add(request.toCardId());
+        }
+        Map<Long, Card> cards = cardIds.isEmpty() ? Map.of() : cardRepository.findAllByIdInForUpdate(cardIds).stream()
+                .collect(Collectors.toMap(Card::getId, Function.identity()));
+
+        List<TransferResult> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            TransferRequest request = chunk.get(i);
+            try {
+                Card from = requireOwnedCard(cards, request.fromCardId(), userId);
+                Card to = requireOwnedCard(cards, request.toCardId(), userId);
+                from.transferTo(to, request.amount());
+                results.add(TransferResult.succeeded(offset + i, request.fromCardId(), request.toCardId()));
+            } catch (CardNotFoundException | IsNotOwnerException | CardIsBlockedException |
+                     InvalidAmountException e) {
+                log.debug("Transfer #{} rejected for userId={}: {}", offset + i, userId, e.getMessage());
+                results.add(TransferResult.failed(offset + i, request.fromCardId(), request.toCardId(),
+                        e.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    private Card requireOwnedCard(Map<Long, Card> cards, Long cardId, UUID userId) {
+        Card card = cardId == null ? null : cards.get(cardId);
+        if (card == null) {
+            throw new CardNotFoundException(cardId);
+        }
+        if (!Objects.equals(card.getUser().getId(), userId)) {
+            throw new IsNotOwnerException("You are not owner of card " + cardId);
+        }
+        return card;
+    }
+}
@@ -1,56 +1,108 @@
 package org.restbank.service.card.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.restbank.service.card.entity.Card;
 import org.restbank.service.card.entity.CardStatus;
 import org.restbank.service.card.entity.CardStatusType;
 import org.restbank.service.card.repository.CardRepository;
 import org.restbank.service.card.repository.CardStatusRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.YearMonth;
-import java.util.List;
 
 /**
  * Service responsible for handling card expiry related operations.
  * This includes a scheduled task to mark expired cards.
+ *
+ * <p>The task runs on every instance, but only the instance holding the {@value #LEASE_NAME} lease
+ * performs the pass, so the cost of the job does not grow with the number of replicas. The pass
+ * duration and the number of expired cards are published as metrics.</p>
  */
 @Slf4j
 @Service
 public class CardExpiryService {
+    static final String LEASE_NAME = "card-expiry";
 
     private final CardRepository cardRepository;
     private final CardStatusRepository cardStatusRepository;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final int chunkSize;
+    private final Duration lease;
+    private final Timer passTimer;
+    private final Counter expiredCounter;
 
-    public CardExpiryService(CardRepository cardRepository, CardStatusRepository cardStatusRepository) {
+    public CardExpiryService(CardRepository cardRepository,
+                             CardStatusRepository cardStatusRepository,
+                             SchedulerLeaseService schedulerLeaseService,
+                             MeterRegistry meterRegistry,
+                             @Value("${card.expiry.chunk-size:1000}") int chunkSize,
+                             @Value("${card.expiry.lease:PT5M}") Duration lease) {
         this.cardRepository = cardRepository;
         this.cardStatusRepository = cardStatusRepository;
+        this.schedulerLeaseService = schedulerLeaseService;
+        this.chunkSize = chunkSize;
+        this.lease = lease;
+        this.passTimer = Timer.builder("card.expiry.pass")
+                .description("Duration of card expiry passes")
+                .register(meterRegistry);
+        this.expiredCounter = Counter.builder("card.expiry.cards")
+                .description("Number of cards marked as EXPIRED")
+                .register(meterRegistry);
     }
 
     /**
      * Scheduled task to mark cards as EXPIRED if their expiry date is in the current month or past.
-     * Runs every minute.
+     * Runs every minute on the instance holding the expiry lease.
      */
     @Scheduled(cron = "0 * * * * *")
     public void markExpiredCards() {
+        if (!schedulerLeaseService.tryAcquire(LEASE_NAME, lease)) {
+            log.debug("Skipping markExpiredCards, lease {} is held by another instance", LEASE_NAME);
+            return;
+        }
         log.debug("Starting scheduled task: markExpiredCards");
+        Timer.Sample sample = Timer.start();
+        try {
+            expiredCounter.increment(expireCards(YearMonth.now()));
+        } finally {
+            sample.stop(passTimer);
+        }
+    }
 
-        YearMonth now = YearMonth.now();
+    /**
+     * Marks every card expiring in or before the given month as EXPIRED.
+     *
+     * <p>Cards are updated directly in the database in chunks of at most {@code card.expiry.chunk-size} rows,
+     * each chunk in its own transaction, until a chunk comes back short. Cards that are already expired are
+     * not touched again, so a run with nothing to do costs a single statement.</p>
+     *
+     * @param month The month up to which cards are considered expired.
+     * @return The number of cards marked as EXPIRED.
+     */
+    public int expireCards(YearMonth month) {
         CardStatus expiredStatus = cardStatusRepository.findByName(CardStatusType.EXPIRED)
                 .orElseThrow(() -> {
                     log.error("Card status EXPIRED not found in DB");
                     return new IllegalStateException("EXPIRED status not found");
                 });
-        List<Card> toExpire = cardRepository.findByExpiryDate(now);
-        log.info("Found {} cards expiring at {}", toExpire.size(), now);
 
-        if (!toExpire.isEmpty()) {
-            toExpire.forEach(card -> card.setStatus(expiredStatus));
-            cardRepository.saveAll(toExpire);
-            log.info("Marked {} cards as EXPIRED", toExpire.size());
+        int total = 0;
+        int updated;
+        do {
+            updated = cardRepository.markExpired(expiredStatus.getId(), month.atDay(1), chunkSize);
+            total += updated;
+        } while (updated == chunkSize);
+
+        if (total > 0) {
+            log.info("Marked {} cards expiring at or before {} as EXPIRED", total, month);
         } else {
-            log.debug("No cards to expire at {}", now);
+            log.debug("No cards to expire at {}", month);
         }
+        return total;
     }
 }
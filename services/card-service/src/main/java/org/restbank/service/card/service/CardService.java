@@ -2,14 +2,18 @@ package org.restbank.service.card.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.restbank.libs.api.security.Roles;
 import org.restbank.libs.api.util.JwtPrincipal;
 import org.restbank.service.card.dto.CardMapper;
 import org.restbank.service.card.dto.request.TransferRequest;
 import org.restbank.service.card.dto.response.CardResponse;
 import org.restbank.service.card.entity.Card;
 import org.restbank.service.card.entity.User;
+import org.restbank.service.card.exception.CardConcurrentlyModifiedException;
+import org.restbank.service.card.exception.CardIsBlockedException;
 import org.restbank.service.card.exception.CardNotFoundException;
 import org.restbank.service.card.exception.CardStatusNotFoundException;
+import org.restbank.service.card.exception.InvalidAmountException;
 import org.restbank.service.card.exception.IsNotOwnerException;
 import org.restbank.service.card.exception.UserNotFoundException;
 import org.restbank.service.card.repository.CardRepository;
@@ -20,6 +24,7 @@ import org.restbank.service.card.util.pan.CardPanGeneratorFactory;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.security.core.Authentication;
@@ -28,8 +33,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.YearMonth;
-import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Service for managing bank cards. Provides functionality for creating, retrieving, and transferring funds between cards.
@@ -93,39 +98,72 @@ public class CardService {
     /**
      * Transfers a specified amount from one card to another.
      *
+     * <p>The transfer is executed as two conditional {@code UPDATE} statements that check ownership, status and
+     * funds in the database, so the common case costs two round trips and does not load any entity. The
+     * statements are issued in ascending card ID order, which keeps the row locks they take consistently ordered
+     * across concurrent transfers. Only when a statement is rejected is the card loaded to report the reason.</p>
+     *
      * @param request The transfer request containing source card ID, destination card ID, and amount.
      * @param userId  The ID of the user initiating the transfer.
-     * @throws CardNotFoundException if either the source or destination card is not found.
-     * @throws IsNotOwnerException   if the user is not the owner of either the source or destination card.
+     * @throws CardNotFoundException  if either the source or destination card is not found.
+     * @throws IsNotOwnerException    if the user is not the owner of either the source or destination card.
+     * @throws CardIsBlockedException if either card is blocked.
+     * @throws InvalidAmountException if the amount is not positive or the source card has insufficient funds.
+     * @throws CardConcurrentlyModifiedException if a card changed while the transfer was being applied.
      */
     @Transactional
     public void transfer(TransferRequest request, UUID userId) {
         log.debug("transfer called fromCardId={} toCardId={} amount={} by userId={}",
                 request.fromCardId(), request.toCardId(), request.amount(), userId);
 
-        Card from = cardRepository.findById(request.fromCardId()).orElseThrow(
-                () -> {
-                    log.warn("Source card {} not found for transfer by user {}", request.fromCardId(), userId);
-                    return new CardNotFoundException(request.fromCardId());
-                });
-        Card to = cardRepository.findById(request.toCardId()).orElseThrow(
-                () -> {
-                    log.warn("Destination card {} not found for transfer by user {}", request.toCardId(), userId);
-                    return new CardNotFoundException(request.toCardId());
-                });
+        BigDecimal amount = request.amount();
+        if (amount == null || amount.signum() <= 0) {
+            throw new InvalidAmountException("Amount must be positive.");
+        }
 
-        checkOwnership(from, userId);
-        checkOwnership(to, userId);
+        if (request.fromCardId() <= request.toCardId()) {
+            debit(request.fromCardId(), userId, amount);
+            credit(request.toCardId(), userId, amount);
+        } else {
+            credit(request.toCardId(), userId, amount);
+            debit(request.fromCardId(), userId, amount);
+        }
 
-        from.withdraw(request.amount());
-        to.deposit(request.amount());
+        log.info("Transfer completed: {} {} -> {} by userId={}",
+                amount, request.fromCardId(), request.toCardId(), userId);
+    }
 
-        Card savedFrom = cardRepository.save(from);
-        Card savedTo = cardRepository.save(to);
+    private void debit(Long cardId, UUID userId, BigDecimal amount) {
+        if (cardRepository.debit(cardId, userId, amount) == 0) {
+            explainRejectedUpdate(cardId, userId, card -> card.withdraw(amount));
+        }
+    }
 
-        log.info("Transfer completed: {} {} -> {} {} by userId={}. Balances after transfer: fromId={} balance={}, toId={} balance={}",
-                request.amount(), savedFrom.getId(), request.amount(), savedTo.getId(), userId,
-                savedFrom.getId(), savedFrom.getBalance(), savedTo.getId(), savedTo.getBalance());
+    private void credit(Long cardId, UUID userId, BigDecimal amount) {
+        if (cardRepository.credit(cardId, userId, amount) == 0) {
+            explainRejectedUpdate(cardId, userId, card -> card.deposit(amount));
+        }
+    }
+
+    /**
+     * Loads a card whose conditional update touched no row and throws the exception the equivalent
+     * {@link Card} operation would have thrown.
+     *
+     * @param cardId    The ID of the card that was not updated.
+     * @param userId    The ID of the user initiating the transfer.
+     * @param operation The in-memory operation that mirrors the rejected update.
+     * @throws CardConcurrentlyModifiedException if the loaded card would have accepted the operation, meaning it
+     *                                           was changed by another transaction in between.
+     */
+    private void explainRejectedUpdate(Long cardId, UUID userId, Consumer<Card> operation) {
+        Card card = cardRepository.findById(cardId).orElseThrow(() -> {
+            log.warn("Card {} not found for transfer by user {}", cardId, userId);
+            return new CardNotFoundException(cardId);
+        });
+        checkOwnership(card, userId);
+        operation.accept(card);
+        log.warn("Card {} was modified concurrently, transfer by user {} rejected", cardId, userId);
+        throw new CardConcurrentlyModifiedException(cardId);
     }
 
     /**
@@ -153,9 +191,7 @@ public class CardService {
     @Transactional(readOnly = true)
     public Page<CardResponse> getCards(PageRequest pageRequest, Authentication auth) {
         String userId = JwtPrincipal.getId(auth);
-        boolean isAdmin = auth.getAuthorities().stream().anyMatch(
-                a -> Objects.equals(a.getAuthority(), "ROLE_ADMIN")
-        );
+        boolean isAdmin = Roles.isAdmin(auth);
 
         Page<Card> cards;
         if (isAdmin) {
@@ -172,6 +208,33 @@ public class CardService {
         );
     }
 
+    /**
+     * Retrieves the cards that follow a given card ID, using keyset pagination.
+     *
+     * <p>Administrators see all cards with masked details, users only their own cards with full details.
+     * Unlike {@link #getCards(PageRequest, Authentication)}, no count query is executed and the cost of a
+     * page does not grow with its depth.</p>
+     *
+     * @param after The ID of the last card of the previous page, or {@code null} to start from the beginning.
+     * @param limit The maximum number of cards to return.
+     * @param auth  The authentication object containing user details and roles.
+     * @return A Slice of CardResponse DTOs ordered by card ID.
+     */
+    @Transactional(readOnly = true)
+    public Slice<CardResponse> getCardsAfter(Long after, int limit, Authentication auth) {
+        boolean isAdmin = Roles.isAdmin(auth);
+        long cursor = after != null ? after : 0L;
+        PageRequest pageRequest = PageRequest.of(0, limit);
+
+        if (isAdmin) {
+            return cardRepository.findByIdGreaterThanOrderByIdAsc(cursor, pageRequest)
+                    .map(cardMapper::toMaskedResponse);
+        }
+        UUID userId = UUID.fromString(JwtPrincipal.getId(auth));
+        return cardRepository.findByUser_IdAndIdGreaterThanOrderByIdAsc(userId, cursor, pageRequest)
+                .map(cardMapper::toFullResponse);
+    }
+
     /**
      * Retrieves a single card response by card ID, with masking based on user ownership and admin status.
      *
@@ -184,7 +247,7 @@ public class CardService {
     public CardResponse getCard(Long cardId, Authentication auth) {
         Card card = cardRepository.findById(cardId).orElseThrow(() -> new CardNotFoundException(cardId));
         UUID userId = UUID.fromString(JwtPrincipal.getId(auth));
-        boolean isAdmin = auth.getAuthorities().stream().anyMatch(a -> Objects.equals(a.getAuthority(), "ROLE_ADMIN"));
+        boolean isAdmin = Roles.isAdmin(auth);
 
         boolean isOwner = card.getUser().getId().equals(userId);
 
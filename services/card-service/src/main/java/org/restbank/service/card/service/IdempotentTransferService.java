@@ -0,0 +1,186 @@
+package org.restbank.service.card.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.restbank.service.card.dto.request.TransferRequest;
+import org.restbank.service.card.exception.IdempotencyKeyReusedException;
+import org.restbank.service.card.repository.ProcessedTransferRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service that makes transfers safe to retry by deduplicating them on a client-supplied idempotency key.
+ *
+ * <p>The key is claimed in the "transfer_requests" table in the same transaction as the transfer, so a
+ * transfer and its key are committed or rolled back together. Recently used keys are also kept in a bounded
+ * in-process cache, which lets most duplicate submissions be answered without a database round trip.
+ * Keys expire after the configured idempotency window and are pruned by a scheduled job, in bounded batches,
+ * on the instance holding the {@value #PURGE_LEASE_NAME} lease.</p>
+ */
+@Slf4j
+@Service
+public class IdempotentTransferService {
+    static final String PURGE_LEASE_NAME = "transfer-idempotency-purge";
+
+    private final CardService cardService;
+    private final ProcessedTransferRepository processedTransferRepository;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final int purgeBatchSize;
+    private final int purgeMaxBatches;
+    private final Duration purgeLease;
+    private final Cache<IdempotencyKey, String> recentKeys;
+
+    public IdempotentTransferService(CardService cardService,
+                                     ProcessedTransferRepository processedTransferRepository,
+                                     SchedulerLeaseService schedulerLeaseService,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${card.transfer.idempotency.ttl:PT24H}") Duration ttl,
+                                     @Value("${card.transfer.idempotency.cache-size:100000}") long cacheSize,
+                                     @Value("${card.transfer.idempotency.purge-batch-size:1000}") int purgeBatchSize,
+                                     @Value("${card.transfer.idempotency.purge-max-batches:100}") int purgeMaxBatches,
+                                     @Value("${card.transfer.idempotency.purge-lease:PT10M}") Duration purgeLease) {
+        this.cardService = cardService;
+        this.processedTransferRepository = processedTransferRepository;
+        this.schedulerLeaseService = schedulerLeaseService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.purgeBatchSize = purgeBatchSize;
+        this.purgeMaxBatches = purgeMaxBatches;
+        this.purgeLease = purgeLease;
+        this.recentKeys = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Applies a transfer unless it was already applied under the same idempotency key.
+     *
+     * @param request        The transfer request.
+     * @param userId         The ID of the user initiating the transfer.
+     * @param idempotencyKey The client-supplied idempotency key.
+     * @return {@code true} if the transfer was applied by this call, {@code false} if it is a replay of a
+     * transfer that was already applied.
+     * @throws IdempotencyKeyReusedException if the key was already used for a different transfer.
+     */
+    public boolean transfer(TransferRequest request, UUID userId, String idempotencyKey) {
+        IdempotencyKey key = new IdempotencyKey(userId, idempotencyKey);
+        String requestHash = hash(request);
+
+        String knownHash = recentKeys.getIfPresent(key);
+        if (knownHash != null) {
+            return replay(knownHash, requestHash, idempotencyKey, userId);
+        }
+
+        if (claimAndTransfer(request, userId, idempotencyKey, requestHash)) {
+            recentKeys.put(key, requestHash);
+            return true;
+        }
+
+        Optional<String> storedHash = processedTransferRepository.findRequestHash(userId, idempotencyKey);
+        if (storedHash.isEmpty()) {
+            // The key was purged between the lost claim and the lookup, so it is free to be claimed again
+            log.info("Idempotency key {} of userId={} expired after a lost claim, claiming it again",
+                    idempotencyKey, userId);
+            if (claimAndTransfer(request, userId, idempotencyKey, requestHash)) {
+                recentKeys.put(key, requestHash);
+                return true;
+            }
+            storedHash = processedTransferRepository.findRequestHash(userId, idempotencyKey);
+        }
+        String knownStoredHash = storedHash.orElseThrow(() -> new IllegalStateException(
+                "Idempotency key '" + idempotencyKey + "' expired while the transfer was being replayed"));
+        recentKeys.put(key, knownStoredHash);
+        return replay(knownStoredHash, requestHash, idempotencyKey, userId);
+    }
+
+    /**
+     * Scheduled task that deletes idempotency keys older than the configured window.
+     * Runs every hour by default, on the instance holding the purge lease.
+     */
+    @Scheduled(cron = "${card.transfer.idempotency.purge-cron:0 0 * * * *}")
+    public void purgeExpiredKeys() {
+        if (!schedulerLeaseService.tryAcquire(PURGE_LEASE_NAME, purgeLease)) {
+            log.debug("Skipping purgeExpiredKeys, lease {} is held by another instance", PURGE_LEASE_NAME);
+            return;
+        }
+        int deleted = purgeCreatedBefore(Instant.now().minus(ttl));
+        log.info("Purged {} idempotency keys older than {}", deleted, ttl);
+    }
+
+    /**
+     * Deletes idempotency keys created before the given instant, in batches of at most
+     * {@code card.transfer.idempotency.purge-batch-size} rows, each in its own transaction. A run stops as soon
+     * as a batch comes back short or {@code card.transfer.idempotency.purge-max-batches} batches were deleted;
+     * the remainder is picked up by the next run.
+     *
+     * @param cutoff Keys created before this instant are deleted.
+     * @return The number of keys deleted.
+     */
+    public int purgeCreatedBefore(Instant cutoff) {
+        int total = 0;
+        for (int batch = 0; batch < purgeMaxBatches; batch++) {
+            int deleted = processedTransferRepository.deleteCreatedBefore(cutoff, purgeBatchSize);
+            total += deleted;
+            if (deleted < purgeBatchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Claims the idempotency key and applies the transfer in one transaction.
+     *
+     * @return {@code true} if the transfer was applied, {@code false} if the key had already been claimed.
+     */
+    private boolean claimAndTransfer(TransferRequest request, UUID userId, String idempotencyKey,
+                                     String requestHash) {
+        Boolean applied = transactionTemplate.execute(status -> {
+            if (processedTransferRepository.claim(userId, idempotencyKey, requestHash, Instant.now()) == 0) {
+                return false;
+            }
+            cardService.transfer(request, userId);
+            return true;
+        });
+        return Boolean.TRUE.equals(applied);
+    }
+
+    private boolean replay(String storedHash, String requestHash, String idempotencyKey, UUID userId) {
+        if (!storedHash.equals(requestHash)) {
+            log.warn("Idempotency key {} reused with a different transfer by userId={}", idempotencyKey, userId);
+            throw new IdempotencyKeyReusedException(idempotencyKey);
+        }
+        log.info("Replaying transfer for idempotency key {} by userId={}", idempotencyKey, userId);
+        return false;
+    }
+
+    private static String hash(TransferRequest request) {
+        String amount = request.amount() == null ? "null" : request.amount().stripTrailingZeros().toPlainString();
+        String canonical = request.fromCardId() + ":" + request.toCardId() + ":" + amount;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record IdempotencyKey(UUID userId, String key) {
+    }
+}
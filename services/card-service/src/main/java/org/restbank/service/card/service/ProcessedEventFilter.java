@@ -0,0 +1,241 @@
+package org.restbank.service.card.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.restbank.service.card.repository.UserSyncJdbcRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory filter of recently processed event IDs, consulted before the "processed_events" table.
+ *
+ * <p>The filter combines a rotating Bloom filter with a small exact LRU of the most recent IDs. The Bloom
+ * filter has two generations: IDs are added to the current one, and lookups check both. The current
+ * generation is retired once it is older than the configured window or has received its expected number of
+ * insertions, so an ID is remembered for at least one window and the false-positive rate stays bounded.</p>
+ *
+ * <p>{@link #lookup(UUID)} answers {@link Membership#NEW} only when the ID is definitely absent from the
+ * window, which lets the caller skip the database check; {@link Membership#PROCESSED} when the ID is in the
+ * exact LRU; and {@link Membership#UNKNOWN} otherwise, in which case the database decides.</p>
+ *
+ * <p>The filter is warmed from the partitions of the "processed_events" table covering the window once all
+ * singletons are created, which is before the Kafka listener containers start, so the redelivered records of
+ * a restart are checked against a populated filter. Until warm-up has succeeded, every lookup answers
+ * {@link Membership#UNKNOWN}. IDs processed by another instance, or created in the outbox before the window,
+ * are still not known to the filter. A wrong {@link Membership#NEW} re-applies a {@code CUSTOMER_CREATED}
+ * event: the user upsert is idempotent and the processed-event insert is ignored on conflict, so the event is
+ * not recorded twice and the cost is a redundant write.</p>
+ *
+ * <p>Instances are thread-safe.</p>
+ */
+@Slf4j
+@Component
+public class ProcessedEventFilter implements SmartInitializingSingleton {
+
+    /**
+     * The answer of the filter for an event ID.
+     */
+    public enum Membership {
+        /**
+         * The event was definitely not processed within the window.
+         */
+        NEW,
+        /**
+         * The event was recently processed.
+         */
+        PROCESSED,
+        /**
+         * The event may have been processed; the database must be checked.
+         */
+        UNKNOWN
+    }
+
+    private final UserSyncJdbcRepository userSyncJdbcRepository;
+    private final Clock clock;
+    private final Duration window;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Cache<UUID, Boolean> recent;
+
+    private volatile Generations generations;
+    private volatile boolean warmedUp;
+
+    public ProcessedEventFilter(UserSyncJdbcRepository userSyncJdbcRepository,
+                                @Value("${card.outbox.dedup.window:PT24H}") Duration window,
+                                @Value("${card.outbox.dedup.expected-insertions:1000000}") long expectedInsertions,
+                                @Value("${card.outbox.dedup.false-positive-rate:0.01}") double falsePositiveRate,
+                                @Value("${card.outbox.dedup.recent-size:10000}") long recentSize) {
+        this(userSyncJdbcRepository, Clock.systemUTC(), window, expectedInsertions, falsePositiveRate, recentSize);
+    }
+
+    ProcessedEventFilter(UserSyncJdbcRepository userSyncJdbcRepository, Clock clock, Duration window,
+                         long expectedInsertions, double falsePositiveRate, long recentSize) {
+        this.userSyncJdbcRepository = userSyncJdbcRepository;
+        this.clock = clock;
+        this.window = window;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(recentSize)
+                .build();
+        BloomFilter empty = newBloomFilter();
+        this.generations = new Generations(empty, empty, clock.instant().plus(window));
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        warmUp();
+    }
+
+    /**
+     * Loads the IDs of the processed events created within the window into the filter. If loading fails, the filter
+     * stays cold and keeps deferring every lookup to the database.
+     */
+    public void warmUp() {
+        Instant since = clock.instant().minus(window);
+        AtomicLong loaded = new AtomicLong();
+        try {
+            userSyncJdbcRepository.forEachEventIdOccurredSince(since, eventId -> {
+                add(eventId);
+                loaded.incrementAndGet();
+            });
+        } catch (DataAccessException e) {
+            log.warn("Could not warm processed event filter, lookups will go to the database", e);
+            return;
+        }
+        warmedUp = true;
+        log.info("Warmed processed event filter with {} events created since {}", loaded.get(), since);
+    }
+
+    /**
+     * Looks up an event ID.
+     *
+     * @param eventId The event ID.
+     * @return Whether the event is known to be new, known to be processed, or unknown; always unknown before
+     * warm-up.
+     */
+    public Membership lookup(UUID eventId) {
+        if (!warmedUp) {
+            return Membership.UNKNOWN;
+        }
+        Generations current = rotateIfNeeded();
+        if (!current.current.mightContain(eventId) && !current.previous.mightContain(eventId)) {
+            return Membership.NEW;
+        }
+        return recent.getIfPresent(eventId) != null ? Membership.PROCESSED : Membership.UNKNOWN;
+    }
+
+    /**
+     * Records an event ID as processed. Must only be called once the processing has been committed.
+     *
+     * @param eventId The event ID.
+     */
+    public void add(UUID eventId) {
+        rotateIfNeeded().current.put(eventId);
+        recent.put(eventId, Boolean.TRUE);
+    }
+
+    private Generations rotateIfNeeded() {
+        Generations current = generations;
+        if (!current.isExhausted(clock.instant())) {
+            return current;
+        }
+        synchronized (this) {
+            current = generations;
+            if (current.isExhausted(clock.instant())) {
+                current = new Generations(newBloomFilter(), current.current, clock.instant().plus(window));
+                generations = current;
+                log.debug("Rotated processed event filter generation");
+            }
+            return current;
+        }
+    }
+
+    private BloomFilter newBloomFilter() {
+        return new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    /**
+     * The two Bloom filter generations; the current one is retired at {@code retireAt} or once it is full.
+     */
+    private record Generations(BloomFilter current, BloomFilter previous, Instant retireAt) {
+        private boolean isExhausted(Instant now) {
+            return current.isFull() || !now.isBefore(retireAt);
+        }
+    }
+
+    /**
+     * A fixed-size, lock-free Bloom filter over UUIDs using double hashing.
+     */
+    private static final class BloomFilter {
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+        private final long capacity;
+        private final AtomicLong insertions = new AtomicLong();
+
+        private BloomFilter(long capacity, double falsePositiveRate) {
+            double bitsPerEntry = -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+            long bitCount = Math.max(64, (long) Math.ceil(capacity * bitsPerEntry));
+            this.bits = new AtomicLongArray(Math.toIntExact((bitCount + 63) / 64));
+            this.bitCount = (long) bits.length() * 64;
+            this.hashCount = Math.max(1, (int) Math.round((double) this.bitCount / capacity * Math.log(2)));
+            this.capacity = capacity;
+        }
+
+        private boolean isFull() {
+            return insertions.get() >= capacity;
+        }
+
+        private void put(UUID id) {
+            long h1 = firstHash(id);
+            long h2 = secondHash(id);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long value;
+                do {
+                    value = bits.get(word);
+                } while ((value & mask) == 0 && !bits.compareAndSet(word, value, value | mask));
+            }
+            insertions.incrementAndGet();
+        }
+
+        private boolean mightContain(UUID id) {
+            long h1 = firstHash(id);
+            long h2 = secondHash(id);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long firstHash(UUID id) {
+            return mix(id.getMostSignificantBits() ^ id.getLeastSignificantBits());
+        }
+
+        private static long secondHash(UUID id) {
+            return mix(id.getMostSignificantBits() + 0x9E3779B97F4A7C15L * id.getLeastSignificantBits()) | 1;
+        }
+
+        private static long mix(long z) {
+            z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+            z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+            return z ^ (z >>> 33);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.restbank.service.card.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.restbank.service.card.repository.ProcessedEventPartitionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+/**
+ * Service that maintains the monthly partitions of the "processed_events" table.
+ *
+ * <p>Processed events only need to be remembered for as long as the outbox topic can redeliver them, so
+ * the table is partitioned by month of the outbox creation time and whole partitions are dropped once every
+ * event they hold was created before the configured retention, which should match the retention of the Kafka
+ * topic. Dropping a partition removes its rows and its part of the primary key index without any delete or
+ * vacuum work. Partitions for the coming months are created ahead of time so new rows never land in the
+ * default partition. The job runs on the instance holding the {@value #LEASE_NAME} lease.</p>
+ */
+@Slf4j
+@Service
+public class ProcessedEventRetentionService {
+    static final String LEASE_NAME = "processed-events-retention";
+
+    private final ProcessedEventPartitionRepository partitionRepository;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final Duration retention;
+    private final int monthsAhead;
+    private final Duration lease;
+
+    public ProcessedEventRetentionService(ProcessedEventPartitionRepository partitionRepository,
+                                          SchedulerLeaseService schedulerLeaseService,
+                                          @Value("${card.processed-events.retention:P7D}") Duration retention,
+                                          @Value("${card.processed-events.months-ahead:2}") int monthsAhead,
+                                          @Value("${card.processed-events.lease:PT10M}") Duration lease) {
+        this.partitionRepository = partitionRepository;
+        this.schedulerLeaseService = schedulerLeaseService;
+        this.retention = retention;
+        this.monthsAhead = monthsAhead;
+        this.lease = lease;
+    }
+
+    /**
+     * Scheduled task that creates upcoming partitions and drops expired ones.
+     * Runs daily by default.
+     */
+    @Scheduled(cron = "${card.processed-events.retention-cron:0 30 3 * * *}")
+    public void maintainPartitions() {
+        if (!schedulerLeaseService.tryAcquire(LEASE_NAME, lease)) {
+            log.debug("Skipping maintainPartitions, lease {} is held by another instance", LEASE_NAME);
+            return;
+        }
+        maintainPartitions(Instant.now());
+    }
+
+    /**
+     * Creates the partitions of the current and the next {@code card.processed-events.months-ahead} months
+     * and drops every partition whose month ended before {@code now} minus the retention.
+     *
+     * @param now The current instant.
+     * @return The number of partitions dropped.
+     */
+    public int maintainPartitions(Instant now) {
+        YearMonth currentMonth = YearMonth.from(now.atZone(ZoneOffset.UTC));
+        for (int i = 0; i <= monthsAhead; i++) {
+            partitionRepository.createPartition(currentMonth.plusMonths(i));
+        }
+
+        Instant cutoff = now.minus(retention);
+        int dropped = 0;
+        for (YearMonth month : partitionRepository.findPartitionMonths()) {
+            Instant monthEnd = month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+            if (!monthEnd.isAfter(cutoff)) {
+                partitionRepository.dropPartition(month);
+                log.info("Dropped processed_events partition for {}", month);
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+}
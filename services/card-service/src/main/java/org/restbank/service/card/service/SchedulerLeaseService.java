@@ -0,0 +1,79 @@
+package org.restbank.service.card.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.restbank.service.card.repository.SchedulerLockRepository;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service that elects a single card-service instance to run a scheduled job, using leases stored in the
+ * "scheduler_locks" table.
+ *
+ * <p>An instance that holds a lease renews it each time it runs the job, so leadership is sticky while the
+ * instance is alive. If it stops renewing, the lease expires and the next instance to try takes it over.
+ * Leases held by this instance are released on shutdown.</p>
+ */
+@Slf4j
+@Service
+public class SchedulerLeaseService {
+
+    private final SchedulerLockRepository schedulerLockRepository;
+    private final String owner;
+    private final Set<String> heldLeases = ConcurrentHashMap.newKeySet();
+
+    public SchedulerLeaseService(SchedulerLockRepository schedulerLockRepository) {
+        this.schedulerLockRepository = schedulerLockRepository;
+        this.owner = hostname() + ":" + UUID.randomUUID();
+    }
+
+    /**
+     * Acquires or renews the named lease for this instance.
+     *
+     * @param name  The name of the lease, usually the name of the job it guards.
+     * @param lease How long the lease stays valid without being renewed.
+     * @return {@code true} if this instance holds the lease and should run the job, {@code false} otherwise.
+     */
+    public boolean tryAcquire(String name, Duration lease) {
+        boolean acquired = schedulerLockRepository.tryAcquire(name, owner, lease.toSeconds()) > 0;
+        if (acquired) {
+            if (heldLeases.add(name)) {
+                log.info("Instance {} acquired scheduler lease {}", owner, name);
+            }
+        } else if (heldLeases.remove(name)) {
+            log.info("Instance {} lost scheduler lease {}", owner, name);
+        }
+        return acquired;
+    }
+
+    /**
+     * Releases every lease held by this instance so that another instance can take over without waiting
+     * for the leases to expire.
+     */
+    @PreDestroy
+    public void releaseAll() {
+        for (String name : heldLeases) {
+            try {
+                schedulerLockRepository.release(name, owner);
+                log.info("Instance {} released scheduler lease {}", owner, name);
+            } catch (RuntimeException e) {
+                log.warn("Failed to release scheduler lease {} held by {}", name, owner, e);
+            }
+        }
+        heldLeases.clear();
+    }
+
+    private static String hostname() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
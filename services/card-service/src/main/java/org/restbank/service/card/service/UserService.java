@@ -1,38 +1,120 @@
 package org.restbank.service.card.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.restbank.libs.api.dto.event.CustomerCreatedEvent;
+import org.restbank.libs.api.dto.event.CustomerStatus;
+import org.restbank.libs.api.dto.event.EventType;
+import org.restbank.service.card.entity.ProcessedEvent;
 import org.restbank.service.card.entity.User;
-import org.restbank.service.card.repository.UserRepository;
+import org.restbank.service.card.event.CustomerCreatedOutboxEvent;
+import org.restbank.service.card.repository.UserSyncJdbcRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * Service for managing user-related operations within the card service context.
  * Primarily handles the creation of local user representations based on events from other services.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserService {
-    private final UserRepository userRepository;
+    private final UserSyncJdbcRepository userSyncJdbcRepository;
+    private final ProcessedEventFilter processedEventFilter;
 
     /**
-     * Applies a CustomerCreatedEvent to create a new user in the card service's database.
-     * If the event contains an ID, it is used; otherwise, a new UUID is generated.
+     * Applies a batch of CustomerCreatedEvents to create the corresponding users in the card service's database.
      *
-     * @param event The CustomerCreatedEvent containing details of the newly created customer.
+     * <p>Events are deduplicated within the batch and then against the {@link ProcessedEventFilter}. Only the
+     * events the filter cannot rule out are checked against the "processed_events" table, with a single lookup
+     * by event ID and outbox creation time, so a batch of new events costs no lookup at all. The remaining users
+     * and their processed-event markers are then written with JDBC batch inserts in one transaction, and the
+     * applied events are added to the filter once it commits. If an event carries no customer ID, a new UUID is
+     * generated.</p>
+     *
+     * @param events The CUSTOMER_CREATED events read from the outbox, in delivery order.
+     * @return The number of events that were applied; duplicates are not counted.
      */
     @Transactional
-    public void applyCustomerCreated(CustomerCreatedEvent event) {
+    public int applyCustomersCreated(List<CustomerCreatedOutboxEvent> events) {
+        Map<UUID, CustomerCreatedOutboxEvent> pending = new LinkedHashMap<>();
+        for (CustomerCreatedOutboxEvent event : events) {
+            pending.putIfAbsent(event.eventId(), event);
+        }
+        List<ProcessedEvent.Key> uncertain = new ArrayList<>();
+        for (Iterator<CustomerCreatedOutboxEvent> it = pending.values().iterator(); it.hasNext(); ) {
+            CustomerCreatedOutboxEvent event = it.next();
+            switch (processedEventFilter.lookup(event.eventId())) {
+                case PROCESSED -> it.remove();
+                case UNKNOWN -> uncertain.add(new ProcessedEvent.Key(event.eventId(), event.occurredAt()));
+                case NEW -> {
+                }
+            }
+        }
+        if (!uncertain.isEmpty()) {
+            userSyncJdbcRepository.findProcessedEventIds(uncertain).forEach(eventId -> {
+                pending.remove(eventId);
+                processedEventFilter.add(eventId);
+            });
+        }
+
+        if (pending.isEmpty()) {
+            log.debug("All {} customer events were already processed", events.size());
+            return 0;
+        }
+
+        Instant now = Instant.now();
+        List<User> users = new ArrayList<>(pending.size());
+        List<ProcessedEvent> processed = new ArrayList<>(pending.size());
+        for (CustomerCreatedOutboxEvent outboxEvent : pending.values()) {
+            users.add(toUser(outboxEvent.event()));
+            processed.add(new ProcessedEvent(outboxEvent.eventId(), outboxEvent.aggregateId(),
+                    EventType.CUSTOMER_CREATED, outboxEvent.occurredAt(), now));
+        }
+
+        userSyncJdbcRepository.upsertUsers(users);
+        userSyncJdbcRepository.insertProcessedEvents(processed);
+        rememberAfterCommit(pending.keySet());
+
+        log.info("Applied {} customer created events ({} duplicates skipped)",
+                pending.size(), events.size() - pending.size());
+        return pending.size();
+    }
+
+    private void rememberAfterCommit(Collection<UUID> eventIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventIds.forEach(processedEventFilter::add);
+            return;
+        }
+        List<UUID> committed = List.copyOf(eventIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                committed.forEach(processedEventFilter::add);
+            }
+        });
+    }
+
+    private User toUser(CustomerCreatedEvent event) {
         User user = new User();
         if (event.getId() != null) {
             user.setId(event.getId());
         } else {
             user.setId(UUID.randomUUID());
         }
-        user.setStatus(event.getStatus());
-        userRepository.save(user);
+        user.setStatus(event.getStatus() != null ? event.getStatus() : CustomerStatus.ACTIVE);
+        return user;
     }
 }
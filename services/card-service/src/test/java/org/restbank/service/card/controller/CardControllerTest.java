@@ -0,0 +1,110 @@
+package org.restbank.service.card.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.restbank.service.card.dto.response.CardResponse;
+import org.restbank.service.card.entity.CardBlockRequest;
+import org.restbank.service.card.repository.CardBlockRequestRepository;
+import org.restbank.service.card.service.BatchTransferService;
+import org.restbank.service.card.service.CardBlockRequestService;
+import org.restbank.service.card.service.CardService;
+import org.restbank.service.card.service.IdempotentTransferService;
+import org.restbank.service.card.util.card.status.CardStatusData;
+import org.restbank.service.card.util.user.UserData;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardControllerTest {
+    @Mock
+    private CardService cardService;
+    @Mock
+    private CardBlockRequestService cardBlockRequestService;
+    @Mock
+    private BatchTransferService batchTransferService;
+    @Mock
+    private IdempotentTransferService idempotentTransferService;
+    @Mock
+    private CardBlockRequestRepository cardBlockRequestRepository;
+    @Mock
+    private Authentication auth;
+
+    private CardController cardController;
+
+    @BeforeEach
+    void setup() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        cardController = new CardController(cardService, cardBlockRequestService, batchTransferService,
+                idempotentTransferService, new PagedResourcesAssembler<>(null, null), cardBlockRequestRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100})
+    void getCards_asAdmin_looksUpPendingBlocksOnceRegardlessOfPageSize(int size) {
+        doReturn(List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))).when(auth).getAuthorities();
+        List<CardResponse> cards = LongStream.rangeClosed(1, size).mapToObj(this::card).toList();
+        PageRequest pageRequest = PageRequest.of(0, size);
+        when(cardService.getCards(pageRequest, auth)).thenReturn(new PageImpl<>(cards, pageRequest, size));
+        when(cardBlockRequestRepository.findCardIdsWithPendingRequest(anyCollection())).thenReturn(Set.of(1L));
+
+        PagedModel<EntityModel<CardResponse>> body = cardController.getCards(0, size, auth).getBody();
+
+        verify(cardBlockRequestRepository, times(1)).findCardIdsWithPendingRequest(anyCollection());
+        verify(cardBlockRequestRepository, never()).existsCardBlockRequestByCard_IdAndStatus(any(), any());
+        List<EntityModel<CardResponse>> content = new ArrayList<>(body.getContent());
+        assertEquals(size, content.size());
+        assertTrue(content.get(0).getLink("block-approve").isPresent());
+        assertEquals(1, content.stream().filter(model -> model.getLink("block-reject").isPresent()).count());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 100})
+    void getCards_asUser_skipsPendingBlockLookup(int size) {
+        doReturn(List.of(new SimpleGrantedAuthority("ROLE_USER"))).when(auth).getAuthorities();
+        List<CardResponse> cards = LongStream.rangeClosed(1, size).mapToObj(this::card).toList();
+        PageRequest pageRequest = PageRequest.of(0, size);
+        when(cardService.getCards(pageRequest, auth)).thenReturn(new PageImpl<>(cards, pageRequest, size));
+
+        cardController.getCards(0, size, auth);
+
+        verify(cardBlockRequestRepository, never()).findCardIdsWithPendingRequest(any(Collection.class));
+        verify(cardBlockRequestRepository, never())
+                .existsCardBlockRequestByCard_IdAndStatus(any(), any(CardBlockRequest.Status.class));
+    }
+
+    private CardResponse card(long id) {
+        return new CardResponse(id, "**** **** **** 1234", UserData.DEFAULT_RESPONSE,
+                CardStatusData.DEFAULT_RESPONSE, BigDecimal.TEN);
+    }
+}
@@ -0,0 +1,91 @@
+package org.restbank.service.card.event;
+
+import org.junit.jupiter.api.Test;
+import org.restbank.libs.api.dto.event.CustomerStatus;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OutboxEnvelopeParserTest {
+    private final OutboxEnvelopeParser parser = new OutboxEnvelopeParser();
+
+    @Test
+    void parse_debeziumEnvelope_readsAfterRowAndTextualPayload() throws IOException {
+        UUID eventId = UUID.randomUUID();
+        UUID customerId = UUID.randomUUID();
+        String message = """
+                {"schema":{"type":"struct","fields":[{"type":"string","field":"id"}]},
+                 "payload":{"before":null,
+                            "after":{"id":"%s","aggregate_type":"Customer","aggregate_id":"%s",
+                                     "event_type":"CUSTOMER_CREATED",
+                                     "payload":"{\\"id\\":\\"%s\\",\\"status\\":\\"ACTIVE\\",\\"tags\\":[1,2]}",
+                                     "created_at":"2026-10-17T10:00:00.123456Z"},
+                            "source":{"db":"restbank","table":"outbox"},"op":"c","ts_ms":1}}
+                """.formatted(eventId, customerId, customerId);
+
+        CustomerCreatedOutboxEvent event = parser.parse(message).orElseThrow();
+
+        assertEquals(eventId, event.eventId());
+        assertEquals(customerId.toString(), event.aggregateId());
+        assertEquals(Instant.parse("2026-10-17T10:00:00.123456Z"), event.occurredAt());
+        assertEquals(customerId, event.event().getId());
+        assertEquals(CustomerStatus.ACTIVE, event.event().getStatus());
+    }
+
+    @Test
+    void parse_bareRow_readsObjectPayload() throws IOException {
+        UUID eventId = UUID.randomUUID();
+        UUID customerId = UUID.randomUUID();
+        String message = """
+                {"id":"%s","aggregate_id":"%s","event_type":"CUSTOMER_CREATED",
+                 "payload":{"id":"%s","status":"ACTIVE"},"created_at":"2026-10-17T10:00:00Z"}
+                """.formatted(eventId, customerId, customerId);
+
+        CustomerCreatedOutboxEvent event = parser.parse(message).orElseThrow();
+
+        assertEquals(eventId, event.eventId());
+        assertEquals(customerId, event.event().getId());
+    }
+
+    @Test
+    void parse_otherEventType_returnsEmpty() throws IOException {
+        String message = """
+                {"payload":{"after":{"id":"%s","event_type":"CUSTOMER_UPDATED","payload":"{}"}}}
+                """.formatted(UUID.randomUUID());
+
+        assertEquals(Optional.empty(), parser.parse(message));
+    }
+
+    @Test
+    void parse_deleteEnvelope_returnsEmpty() throws IOException {
+        String message = """
+                {"payload":{"before":{"id":"%s"},"after":null,"op":"d"}}
+                """.formatted(UUID.randomUUID());
+
+        assertTrue(parser.parse(message).isEmpty());
+    }
+
+    @Test
+    void parse_missingCreationTime_throws() {
+        String message = """
+                {"id":"%s","event_type":"CUSTOMER_CREATED","payload":"{}"}
+                """.formatted(UUID.randomUUID());
+
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(message));
+    }
+
+    @Test
+    void parse_invalidIdentifier_throws() {
+        String message = """
+                {"id":"not-a-uuid","event_type":"CUSTOMER_CREATED","payload":"{}"}
+                """;
+
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(message));
+    }
+}
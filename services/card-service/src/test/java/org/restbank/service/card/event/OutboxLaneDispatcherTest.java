@@ -0,0 +1,102 @@
+package org.restbank.service.card.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.restbank.libs.api.dto.event.CustomerCreatedEvent;
+import org.restbank.libs.api.dto.event.CustomerStatus;
+import org.restbank.service.card.service.UserService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxLaneDispatcherTest {
+    @Mock
+    private UserService userService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OutboxLaneDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void dispatch_keepsEventsOfAnAggregateInOneLaneAndInOrder() {
+        dispatcher = new OutboxLaneDispatcher(userService, meterRegistry, 4);
+        List<List<CustomerCreatedOutboxEvent>> applied = Collections.synchronizedList(new ArrayList<>());
+        when(userService.applyCustomersCreated(anyList())).thenAnswer(invocation -> {
+            List<CustomerCreatedOutboxEvent> lane = invocation.getArgument(0);
+            applied.add(lane);
+            return lane.size();
+        });
+
+        List<CustomerCreatedOutboxEvent> events = new ArrayList<>();
+        List<String> aggregates = List.of("a", "b", "c", "d", "e", "f");
+        for (int round = 0; round < 3; round++) {
+            for (String aggregate : aggregates) {
+                events.add(event(aggregate));
+            }
+        }
+
+        int count = dispatcher.dispatch(events);
+
+        assertEquals(events.size(), count);
+        assertEquals(events.size(), applied.stream().mapToInt(List::size).sum());
+        for (String aggregate : aggregates) {
+            List<List<CustomerCreatedOutboxEvent>> lanesWithAggregate = applied.stream()
+                    .filter(lane -> lane.stream().anyMatch(e -> e.aggregateId().equals(aggregate)))
+                    .toList();
+            assertEquals(1, lanesWithAggregate.size());
+            assertEquals(
+                    events.stream().filter(e -> e.aggregateId().equals(aggregate)).toList(),
+                    lanesWithAggregate.getFirst().stream().filter(e -> e.aggregateId().equals(aggregate)).toList());
+        }
+        meterRegistry.find("card.outbox.lane.depth").gauges()
+                .forEach(gauge -> assertEquals(0.0, gauge.value()));
+    }
+
+    @Test
+    void dispatch_rethrowsLaneFailure() {
+        dispatcher = new OutboxLaneDispatcher(userService, meterRegistry, 2);
+        when(userService.applyCustomersCreated(anyList())).thenThrow(new IllegalStateException("db down"));
+
+        List<CustomerCreatedOutboxEvent> events = List.of(event("a"), event("b"), event("c"));
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> dispatcher.dispatch(events));
+        assertEquals("db down", ex.getMessage());
+    }
+
+    @Test
+    void dispatch_emptyBatch_doesNothing() {
+        dispatcher = new OutboxLaneDispatcher(userService, meterRegistry, 2);
+
+        assertEquals(0, dispatcher.dispatch(List.of()));
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void constructor_registersGaugePerLane() {
+        dispatcher = new OutboxLaneDispatcher(userService, meterRegistry, 3);
+
+        assertEquals(3, meterRegistry.find("card.outbox.lane.depth").gauges().size());
+    }
+
+    private static CustomerCreatedOutboxEvent event(String aggregateId) {
+        return new CustomerCreatedOutboxEvent(UUID.randomUUID(), aggregateId, Instant.now(),
+                new CustomerCreatedEvent(UUID.randomUUID(), CustomerStatus.ACTIVE));
+    }
+}
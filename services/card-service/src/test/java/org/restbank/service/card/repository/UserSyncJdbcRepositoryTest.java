@@ -0,0 +1,123 @@
+package org.restbank.service.card.repository;
+
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.restbank.libs.api.dto.event.EventType;
+import org.restbank.service.card.entity.ProcessedEvent;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs {@link UserSyncJdbcRepository} against PostgreSQL, connected with the JDBC URL of
+ * {@code application.yml} so driver settings such as {@code reWriteBatchedInserts} apply.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class UserSyncJdbcRepositoryTest {
+
+    @Container
+    private static final PostgreSQLContainer POSTGRES = new PostgreSQLContainer("postgres:17-alpine");
+
+    private static JdbcTemplate jdbcTemplate;
+
+    private UserSyncJdbcRepository repository;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                applicationJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS card_schema");
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:/db/migration/db.changelog-master.yaml");
+        liquibase.setDefaultSchema("card_schema");
+        liquibase.setLiquibaseSchema("card_schema");
+        liquibase.afterPropertiesSet();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE processed_events");
+        repository = new UserSyncJdbcRepository(jdbcTemplate);
+    }
+
+    @Test
+    void insertProcessedEvents_redeliveredEvent_isRecordedOnce() {
+        Instant occurredAt = Instant.now();
+        ProcessedEvent event = event(UUID.randomUUID(), occurredAt, occurredAt.plusSeconds(1));
+        ProcessedEvent redelivered = event(event.getEventId(), occurredAt, occurredAt.plusSeconds(30));
+
+        assertEquals(1, repository.insertProcessedEvents(List.of(event)));
+        assertEquals(0, repository.insertProcessedEvents(List.of(redelivered)));
+
+        assertEquals(1, countProcessedEvents(event.getEventId()));
+        assertEquals(Set.of(event.getEventId()), repository.findProcessedEventIds(
+                List.of(new ProcessedEvent.Key(event.getEventId(), event.getOccurredAt()))));
+    }
+
+    @Test
+    void findProcessedEventIds_otherOccurrenceTime_isNotFound() {
+        Instant occurredAt = Instant.now();
+        ProcessedEvent event = event(UUID.randomUUID(), occurredAt, occurredAt);
+        repository.insertProcessedEvents(List.of(event));
+
+        Set<UUID> found = repository.findProcessedEventIds(
+                List.of(new ProcessedEvent.Key(event.getEventId(), occurredAt.minusSeconds(60))));
+
+        assertEquals(Set.of(), found);
+    }
+
+    @Test
+    void insertProcessedEvents_batchWithRedeliveredEvents_recordsOnlyNewOnes() {
+        Instant now = Instant.now();
+        ProcessedEvent first = event(UUID.randomUUID(), now, now);
+        ProcessedEvent second = event(UUID.randomUUID(), now, now);
+        repository.insertProcessedEvents(List.of(first));
+
+        int recorded = repository.insertProcessedEvents(
+                List.of(event(first.getEventId(), now, now.plusSeconds(1)), second));
+
+        assertEquals(1, recorded);
+        assertEquals(1, countProcessedEvents(first.getEventId()));
+        assertEquals(1, countProcessedEvents(second.getEventId()));
+    }
+
+    private static int countProcessedEvents(UUID eventId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM processed_events WHERE event_id = ?", Integer.class, eventId);
+    }
+
+    private static ProcessedEvent event(UUID eventId, Instant occurredAt, Instant processedAt) {
+        return new ProcessedEvent(eventId, UUID.randomUUID().toString(), EventType.CUSTOMER_CREATED,
+                occurredAt.truncatedTo(ChronoUnit.MICROS), processedAt.truncatedTo(ChronoUnit.MICROS));
+    }
+
+    /**
+     * Resolves {@code spring.datasource.url} of {@code application.yml} against the container database.
+     */
+    private static String applicationJdbcUrl() {
+        YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+        yaml.setResources(new ClassPathResource("application.yml"));
+        String url = yaml.getObject().getProperty("spring.datasource.url");
+        String databaseUrl = POSTGRES.getJdbcUrl().split("\\?", 2)[0];
+        return url.replace("${DB_JDBC_URL}", databaseUrl);
+    }
+}
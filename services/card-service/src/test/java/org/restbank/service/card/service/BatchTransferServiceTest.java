@@ -0,0 +1,99 @@
+package org.restbank.service.card.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.restbank.service.card.dto.request.TransferRequest;
+import org.restbank.service.card.dto.response.TransferResult;
+import org.restbank.service.card.entity.Card;
+import org.restbank.service.card.entity.User;
+import org.restbank.service.card.repository.CardRepository;
+import org.restbank.service.card.util.card.CardData;
+import org.restbank.service.card.util.user.UserData;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchTransferServiceTest {
+    private final UUID ownerId = UUID.randomUUID();
+    @Mock
+    private CardRepository cardRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BatchTransferService batchTransferService;
+
+    @BeforeEach
+    void setup() {
+        batchTransferService = new BatchTransferService(cardRepository, transactionManager, 2);
+    }
+
+    @Test
+    void transfer_appliesEachItemAndReportsFailures() {
+        User owner = UserData.entity().withId(ownerId).build();
+        Card first = CardData.entity().withId(1L).withOwner(owner).withBalance(new BigDecimal("100")).build();
+        Card second = CardData.entity().withId(2L).withOwner(owner).withBalance(BigDecimal.ZERO).build();
+        when(cardRepository.findAllByIdInForUpdate(Set.of(1L, 2L))).thenReturn(List.of(first, second));
+
+        List<TransferResult> results = batchTransferService.transfer(List.of(
+                new TransferRequest(1L, 2L, new BigDecimal("60")),
+                new TransferRequest(1L, 2L, new BigDecimal("60"))
+        ), ownerId);
+
+        assertTrue(results.get(0).success());
+        assertFalse(results.get(1).success());
+        assertEquals("Insufficient pounds.", results.get(1).error());
+        assertEquals(new BigDecimal("40"), first.getBalance());
+        assertEquals(new BigDecimal("60"), second.getBalance());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void transfer_splitsBatchIntoChunks() {
+        User owner = UserData.entity().withId(ownerId).build();
+        Card first = CardData.entity().withId(1L).withOwner(owner).withBalance(new BigDecimal("100")).build();
+        Card second = CardData.entity().withId(2L).withOwner(owner).withBalance(BigDecimal.ZERO).build();
+        when(cardRepository.findAllByIdInForUpdate(any())).thenReturn(List.of(first, second));
+
+        List<TransferResult> results = batchTransferService.transfer(List.of(
+                new TransferRequest(1L, 2L, BigDecimal.ONE),
+                new TransferRequest(1L, 2L, BigDecimal.ONE),
+                new TransferRequest(2L, 1L, BigDecimal.ONE)
+        ), ownerId);
+
+        assertEquals(3, results.size());
+        assertEquals(2, results.get(2).index());
+        assertTrue(results.stream().allMatch(TransferResult::success));
+        verify(cardRepository, times(2)).findAllByIdInForUpdate(any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void transfer_foreignOrMissingCard_isRejectedWithoutTouchingBalances() {
+        User owner = UserData.entity().withId(ownerId).build();
+        User other = UserData.entity().withId(UUID.randomUUID()).build();
+        Card own = CardData.entity().withId(1L).withOwner(owner).withBalance(new BigDecimal("100")).build();
+        Card foreign = CardData.entity().withId(2L).withOwner(other).withBalance(BigDecimal.ZERO).build();
+        when(cardRepository.findAllByIdInForUpdate(Set.of(1L, 2L, 3L))).thenReturn(List.of(own, foreign));
+
+        List<TransferResult> results = batchTransferService.transfer(List.of(
+                new TransferRequest(1L, 2L, BigDecimal.TEN),
+                new TransferRequest(1L, 3L, BigDecimal.TEN)
+        ), ownerId);
+
+        assertFalse(results.get(0).success());
+        assertFalse(results.get(1).success());
+        assertEquals(new BigDecimal("100"), own.getBalance());
+        assertEquals(BigDecimal.ZERO, foreign.getBalance());
+    }
+}
@@ -1,28 +1,31 @@
 package org.restbank.service.card.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.restbank.service.card.entity.Card;
 import org.restbank.service.card.entity.CardStatus;
 import org.restbank.service.card.entity.CardStatusType;
 import org.restbank.service.card.repository.CardRepository;
 import org.restbank.service.card.repository.CardStatusRepository;
-import org.restbank.service.card.util.card.CardData;
 import org.restbank.service.card.util.card.status.CardStatusData;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.YearMonth;
-import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class CardExpiryServiceTest {
+    private static final int CHUNK_SIZE = 2;
+    private static final Integer EXPIRED_STATUS_ID = 3;
 
     @Mock
     private CardRepository cardRepository;
@@ -30,40 +33,76 @@ class CardExpiryServiceTest {
     @Mock
     private CardStatusRepository cardStatusRepository;
 
-    @InjectMocks
+    @Mock
+    private SchedulerLeaseService schedulerLeaseService;
+
+    private SimpleMeterRegistry meterRegistry;
+
     private CardExpiryService cardExpiryService;
 
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        cardExpiryService = new CardExpiryService(cardRepository, cardStatusRepository, schedulerLeaseService,
+                meterRegistry, CHUNK_SIZE, Duration.ofMinutes(5));
+    }
+
     @Test
-    void markExpiredCards_shouldUpdateExpiredCards() {
-        CardStatus expiredStatus = CardStatusData.entity().withName(CardStatusType.EXPIRED).build();
+    void expireCards_shouldUpdateInChunksUntilChunkComesBackShort() {
+        YearMonth month = YearMonth.of(2026, 10);
+        LocalDate firstDay = month.atDay(1);
+        CardStatus expiredStatus = CardStatusData.entity().withId(EXPIRED_STATUS_ID).withName(CardStatusType.EXPIRED).build();
 
-        Card card = CardData.entity().withExpiryDate(YearMonth.now()).build();
+        when(cardStatusRepository.findByName(CardStatusType.EXPIRED)).thenReturn(Optional.of(expiredStatus));
+        when(cardRepository.markExpired(EXPIRED_STATUS_ID, firstDay, CHUNK_SIZE)).thenReturn(2, 2, 1);
+
+        int expired = cardExpiryService.expireCards(month);
 
+        assertEquals(5, expired);
+        verify(cardRepository, times(3)).markExpired(EXPIRED_STATUS_ID, firstDay, CHUNK_SIZE);
+    }
+
+    @Test
+    void markExpiredCards_shouldSkipPass_ifLeaseHeldElsewhere() {
+        when(schedulerLeaseService.tryAcquire(eq(CardExpiryService.LEASE_NAME), any())).thenReturn(false);
+
+        cardExpiryService.markExpiredCards();
+
+        verifyNoInteractions(cardRepository, cardStatusRepository);
+        assertEquals(0, meterRegistry.get("card.expiry.pass").timer().count());
+    }
+
+    @Test
+    void markExpiredCards_shouldRecordMetrics_ifLeaseAcquired() {
+        CardStatus expiredStatus = CardStatusData.entity().withId(EXPIRED_STATUS_ID).withName(CardStatusType.EXPIRED).build();
+
+        when(schedulerLeaseService.tryAcquire(eq(CardExpiryService.LEASE_NAME), any())).thenReturn(true);
         when(cardStatusRepository.findByName(CardStatusType.EXPIRED)).thenReturn(Optional.of(expiredStatus));
-        when(cardRepository.findByExpiryDate(YearMonth.now())).thenReturn(List.of(card));
+        when(cardRepository.markExpired(anyInt(), any(), anyInt())).thenReturn(1);
 
         cardExpiryService.markExpiredCards();
 
-        assertEquals(CardStatusType.EXPIRED, card.getStatus().getName());
-        verify(cardRepository).saveAll(List.of(card));
+        assertEquals(1, meterRegistry.get("card.expiry.pass").timer().count());
+        assertEquals(1.0, meterRegistry.get("card.expiry.cards").counter().count());
     }
 
     @Test
     void markExpiredCards_shouldThrowException_ifExpiredStatusNotFound() {
+        when(schedulerLeaseService.tryAcquire(eq(CardExpiryService.LEASE_NAME), any())).thenReturn(true);
         when(cardStatusRepository.findByName(CardStatusType.EXPIRED)).thenReturn(Optional.empty());
 
         assertThrows(IllegalStateException.class, () -> cardExpiryService.markExpiredCards());
+        verify(cardRepository, never()).markExpired(anyInt(), any(), anyInt());
     }
 
     @Test
-    void markExpiredCards_shouldNotSave_ifNoExpiredCards() {
-        CardStatus expiredStatus = CardStatusData.entity().withName(CardStatusType.EXPIRED).build();
+    void expireCards_shouldIssueSingleStatement_ifNoExpiredCards() {
+        CardStatus expiredStatus = CardStatusData.entity().withId(EXPIRED_STATUS_ID).withName(CardStatusType.EXPIRED).build();
 
         when(cardStatusRepository.findByName(CardStatusType.EXPIRED)).thenReturn(Optional.of(expiredStatus));
-        when(cardRepository.findByExpiryDate(YearMonth.now())).thenReturn(List.of());
-
-        cardExpiryService.markExpiredCards();
+        when(cardRepository.markExpired(anyInt(), any(), anyInt())).thenReturn(0);
 
-        verify(cardRepository, never()).saveAll(anyList());
+        assertEquals(0, cardExpiryService.expireCards(YearMonth.now()));
+        verify(cardRepository, times(1)).markExpired(anyInt(), any(), anyInt());
     }
 }
@@ -3,6 +3,7 @@ package org.restbank.service.card.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
@@ -13,9 +14,13 @@ import org.restbank.service.card.dto.request.TransferRequest;
 import org.restbank.service.card.dto.response.CardResponse;
 import org.restbank.service.card.entity.Card;
 import org.restbank.service.card.entity.CardStatus;
+import org.restbank.service.card.entity.CardStatusType;
 import org.restbank.service.card.entity.User;
+import org.restbank.service.card.exception.CardConcurrentlyModifiedException;
+import org.restbank.service.card.exception.CardIsBlockedException;
 import org.restbank.service.card.exception.CardNotFoundException;
 import org.restbank.service.card.exception.CardStatusNotFoundException;
+import org.restbank.service.card.exception.InvalidAmountException;
 import org.restbank.service.card.exception.IsNotOwnerException;
 import org.restbank.service.card.exception.UserNotFoundException;
 import org.restbank.service.card.repository.CardRepository;
@@ -93,53 +98,62 @@ class CardServiceTest {
         long fromId = 1L, toId = 2L;
         BigDecimal amount = new BigDecimal("100");
 
-        User owner = UserData.entity().withId(ownerId).build();
-        Card from = spy(CardData.entity()
-                .withId(fromId)
-                .withOwner(owner)
-                .build());
-        Card to = spy(CardData.entity()
-                .withId(toId)
-                .withOwner(owner)
-                .build());
+        when(cardRepository.debit(fromId, ownerId, amount)).thenReturn(1);
+        when(cardRepository.credit(toId, ownerId, amount)).thenReturn(1);
 
-        when(cardRepository.findById(fromId)).thenReturn(Optional.of(from));
-        when(cardRepository.findById(toId)).thenReturn(Optional.of(to));
-        when(cardRepository.save(any(Card.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        cardService.transfer(new TransferRequest(fromId, toId, amount), ownerId);
 
-        TransferRequest req = mock(TransferRequest.class);
-        when(req.fromCardId()).thenReturn(fromId);
-        when(req.toCardId()).thenReturn(toId);
-        when(req.amount()).thenReturn(amount);
+        InOrder inOrder = inOrder(cardRepository);
+        inOrder.verify(cardRepository).debit(fromId, ownerId, amount);
+        inOrder.verify(cardRepository).credit(toId, ownerId, amount);
+        verify(cardRepository, never()).findById(any());
+    }
 
-        cardService.transfer(req, ownerId);
+    @Test
+    void transfer_updatesCardsInIdOrder() {
+        long fromId = 2L, toId = 1L;
+        BigDecimal amount = new BigDecimal("100");
+
+        when(cardRepository.debit(fromId, ownerId, amount)).thenReturn(1);
+        when(cardRepository.credit(toId, ownerId, amount)).thenReturn(1);
 
-        verify(from).withdraw(amount);
-        verify(to).deposit(amount);
-        verify(cardRepository).save(from);
-        verify(cardRepository).save(to);
+        cardService.transfer(new TransferRequest(fromId, toId, amount), ownerId);
+
+        InOrder inOrder = inOrder(cardRepository);
+        inOrder.verify(cardRepository).credit(toId, ownerId, amount);
+        inOrder.verify(cardRepository).debit(fromId, ownerId, amount);
+    }
+
+    @Test
+    void transfer_nonPositiveAmount_throws() {
+        TransferRequest req = new TransferRequest(1L, 2L, BigDecimal.ZERO);
+
+        assertThrows(InvalidAmountException.class, () -> cardService.transfer(req, ownerId));
+        verifyNoInteractions(cardRepository);
     }
 
     @Test
     void transfer_fromCardNotFound_throws() {
-        long fromId = 1L;
+        long fromId = 1L, toId = 2L;
+        BigDecimal amount = BigDecimal.TEN;
+        when(cardRepository.debit(fromId, ownerId, amount)).thenReturn(0);
         when(cardRepository.findById(fromId)).thenReturn(Optional.empty());
-        TransferRequest req = mock(TransferRequest.class);
-        when(req.fromCardId()).thenReturn(fromId);
+
+        TransferRequest req = new TransferRequest(fromId, toId, amount);
 
         assertThrows(CardNotFoundException.class, () -> cardService.transfer(req, ownerId));
+        verify(cardRepository, never()).credit(any(), any(), any());
     }
 
     @Test
     void transfer_toCardNotFound_throws() {
         long fromId = 1L, toId = 2L;
-        Card from = CardData.entity().withId(fromId).build();
-        when(cardRepository.findById(fromId)).thenReturn(Optional.of(from));
+        BigDecimal amount = BigDecimal.TEN;
+        when(cardRepository.debit(fromId, ownerId, amount)).thenReturn(1);
+        when(cardRepository.credit(toId, ownerId, amount)).thenReturn(0);
         when(cardRepository.findById(toId)).thenReturn(Optional.empty());
 
-        TransferRequest req = mock(TransferRequest.class);
-        when(req.fromCardId()).thenReturn(fromId);
-        when(req.toCardId()).thenReturn(toId);
+        TransferRequest req = new TransferRequest(fromId, toId, amount);
 
         assertThrows(CardNotFoundException.class, () -> cardService.transfer(req, ownerId));
     }
@@ -147,21 +161,67 @@ class CardServiceTest {
     @Test
     void transfer_notOwner_throws() {
         long fromId = 1L, toId = 2L;
-
-        Card from = CardData.entity().withId(fromId).build();
+        BigDecimal amount = BigDecimal.TEN;
         User other = UserData.entity().withId(UUID.randomUUID()).build();
-        from.setUser(other);
+        Card from = CardData.entity().withId(fromId).withOwner(other).build();
 
-        Card to = CardData.entity().withId(toId).withOwner(other).build();
+        when(cardRepository.debit(fromId, ownerId, amount)).thenReturn(0);
+        when(cardRepository.findById(fromId)).thenReturn(Optional.of(from));
+
+        TransferRequest req = new TransferRequest(fromId, toId, amount);
+
+        assertThrows(IsNotOwnerException.class, () -> cardService.transfer(req, ownerId));
+    }
 
+    @Test
+    void transfer_insufficientFunds_throws() {
+        long fromId = 1L, toId = 2L;
+        BigDecimal amount = new BigDecimal("100");
+        User owner = UserData.entity().withId(ownerId).build();
+        Card from = CardData.entity().withId(fromId).withOwner(owner).withBalance(BigDecimal.ONE).build();
+
+        when(cardRepository.debit(fromId, ownerId, amount)).thenReturn(0);
+        when(cardRepository.findById(fromId)).thenReturn(Optional.of(from));
+
+        TransferRequest req = new TransferRequest(fromId, toId, amount);
+
+        assertThrows(InvalidAmountException.class, () -> cardService.transfer(req, ownerId));
+    }
+
+    @Test
+    void transfer_rejectedUpdateButCardNowAllowsIt_throwsConflict() {
+        long fromId = 1L, toId = 2L;
+        BigDecimal amount = BigDecimal.TEN;
+        User owner = UserData.entity().withId(ownerId).build();
+        Card from = CardData.entity().withId(fromId).withOwner(owner).withBalance(new BigDecimal("100")).build();
+
+        when(cardRepository.debit(fromId, ownerId, amount)).thenReturn(0);
         when(cardRepository.findById(fromId)).thenReturn(Optional.of(from));
+
+        TransferRequest req = new TransferRequest(fromId, toId, amount);
+
+        assertThrows(CardConcurrentlyModifiedException.class, () -> cardService.transfer(req, ownerId));
+        verify(cardRepository, never()).credit(any(), any(), any());
+    }
+
+    @Test
+    void transfer_blockedCard_throws() {
+        long fromId = 1L, toId = 2L;
+        BigDecimal amount = BigDecimal.TEN;
+        User owner = UserData.entity().withId(ownerId).build();
+        Card to = CardData.entity()
+                .withId(toId)
+                .withOwner(owner)
+                .withCardStatus(CardStatusData.entity().withName(CardStatusType.BLOCKED).build())
+                .build();
+
+        when(cardRepository.debit(fromId, ownerId, amount)).thenReturn(1);
+        when(cardRepository.credit(toId, ownerId, amount)).thenReturn(0);
         when(cardRepository.findById(toId)).thenReturn(Optional.of(to));
 
-        TransferRequest req = mock(TransferRequest.class);
-        when(req.fromCardId()).thenReturn(fromId);
-        when(req.toCardId()).thenReturn(toId);
+        TransferRequest req = new TransferRequest(fromId, toId, amount);
 
-        assertThrows(IsNotOwnerException.class, () -> cardService.transfer(req, ownerId));
+        assertThrows(CardIsBlockedException.class, () -> cardService.transfer(req, ownerId));
     }
 
     @Test
@@ -0,0 +1,125 @@
+package org.restbank.service.card.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.restbank.service.card.dto.request.TransferRequest;
+import org.restbank.service.card.exception.IdempotencyKeyReusedException;
+import org.restbank.service.card.repository.ProcessedTransferRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotentTransferServiceTest {
+    private static final Duration PURGE_LEASE = Duration.ofMinutes(10);
+    private final UUID ownerId = UUID.randomUUID();
+    private final TransferRequest request = new TransferRequest(1L, 2L, new BigDecimal("10.00"));
+    @Mock
+    private CardService cardService;
+    @Mock
+    private ProcessedTransferRepository processedTransferRepository;
+    @Mock
+    private SchedulerLeaseService schedulerLeaseService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IdempotentTransferService idempotentTransferService;
+
+    @BeforeEach
+    void setup() {
+        idempotentTransferService = new IdempotentTransferService(
+                cardService, processedTransferRepository, schedulerLeaseService, transactionManager,
+                Duration.ofHours(24), 100, 1000, 3, PURGE_LEASE);
+    }
+
+    @Test
+    void transfer_newKey_appliesTransferOnce() {
+        when(processedTransferRepository.claim(eq(ownerId), eq("key-1"), anyString(), any())).thenReturn(1);
+
+        assertTrue(idempotentTransferService.transfer(request, ownerId, "key-1"));
+        assertFalse(idempotentTransferService.transfer(request, ownerId, "key-1"));
+
+        verify(cardService).transfer(request, ownerId);
+        verify(processedTransferRepository).claim(eq(ownerId), eq("key-1"), anyString(), any());
+        verify(processedTransferRepository, never()).findRequestHash(any(), any());
+    }
+
+    @Test
+    void transfer_keyClaimedElsewhere_replaysWithoutTransfer() {
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        when(processedTransferRepository.claim(eq(ownerId), eq("key-1"), hash.capture(), any())).thenReturn(0);
+        when(processedTransferRepository.findRequestHash(ownerId, "key-1")).thenAnswer(i -> Optional.of(hash.getValue()));
+
+        assertFalse(idempotentTransferService.transfer(request, ownerId, "key-1"));
+
+        verify(cardService, never()).transfer(any(), any());
+    }
+
+    @Test
+    void transfer_keyPurgedAfterLostClaim_claimsAgain() {
+        when(processedTransferRepository.claim(eq(ownerId), eq("key-1"), anyString(), any())).thenReturn(0, 1);
+        when(processedTransferRepository.findRequestHash(ownerId, "key-1")).thenReturn(Optional.empty());
+
+        assertTrue(idempotentTransferService.transfer(request, ownerId, "key-1"));
+
+        verify(cardService).transfer(request, ownerId);
+        verify(processedTransferRepository, times(2)).claim(eq(ownerId), eq("key-1"), anyString(), any());
+    }
+
+    @Test
+    void transfer_keyReusedForDifferentTransfer_throws() {
+        when(processedTransferRepository.claim(eq(ownerId), eq("key-1"), anyString(), any())).thenReturn(1);
+        idempotentTransferService.transfer(request, ownerId, "key-1");
+
+        TransferRequest other = new TransferRequest(1L, 2L, new BigDecimal("20"));
+
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> idempotentTransferService.transfer(other, ownerId, "key-1"));
+        verify(cardService, never()).transfer(other, ownerId);
+    }
+
+    @Test
+    void purgeExpiredKeys_deletesInBatchesUntilShort() {
+        when(schedulerLeaseService.tryAcquire(IdempotentTransferService.PURGE_LEASE_NAME, PURGE_LEASE))
+                .thenReturn(true);
+        when(processedTransferRepository.deleteCreatedBefore(any(), eq(1000))).thenReturn(1000, 42);
+
+        idempotentTransferService.purgeExpiredKeys();
+
+        verify(processedTransferRepository, times(2)).deleteCreatedBefore(any(), eq(1000));
+    }
+
+    @Test
+    void purgeCreatedBefore_stopsAfterMaxBatches() {
+        when(processedTransferRepository.deleteCreatedBefore(any(), eq(1000))).thenReturn(1000);
+
+        assertEquals(3000, idempotentTransferService.purgeCreatedBefore(Instant.now()));
+
+        verify(processedTransferRepository, times(3)).deleteCreatedBefore(any(), eq(1000));
+    }
+
+    @Test
+    void purgeExpiredKeys_skipsWhenLeaseIsHeldElsewhere() {
+        when(schedulerLeaseService.tryAcquire(IdempotentTransferService.PURGE_LEASE_NAME, PURGE_LEASE))
+                .thenReturn(false);
+
+        idempotentTransferService.purgeExpiredKeys();
+
+        verify(processedTransferRepository, never()).deleteCreatedBefore(any(), anyInt());
+    }
+}
@@ -0,0 +1,128 @@
+package org.restbank.service.card.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.restbank.service.card.repository.UserSyncJdbcRepository;
+import org.restbank.service.card.service.ProcessedEventFilter.Membership;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessedEventFilterTest {
+    private static final Duration WINDOW = Duration.ofHours(1);
+
+    @Mock
+    private UserSyncJdbcRepository userSyncJdbcRepository;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-10-17T10:00:00Z"));
+
+    @Test
+    void lookup_beforeWarmUp_isUnknown() {
+        ProcessedEventFilter filter = new ProcessedEventFilter(userSyncJdbcRepository, clock, WINDOW, 1000, 0.01, 100);
+
+        assertEquals(Membership.UNKNOWN, filter.lookup(UUID.randomUUID()));
+    }
+
+    @Test
+    void lookup_afterFailedWarmUp_staysUnknown() {
+        doThrow(new QueryTimeoutException("timeout"))
+                .when(userSyncJdbcRepository).forEachEventIdOccurredSince(any(), any());
+        ProcessedEventFilter filter = new ProcessedEventFilter(userSyncJdbcRepository, clock, WINDOW, 1000, 0.01, 100);
+
+        filter.afterSingletonsInstantiated();
+
+        assertEquals(Membership.UNKNOWN, filter.lookup(UUID.randomUUID()));
+    }
+
+    @Test
+    void lookup_unknownIdIsNew() {
+        ProcessedEventFilter filter = filter(1000, 100);
+
+        assertEquals(Membership.NEW, filter.lookup(UUID.randomUUID()));
+    }
+
+    @Test
+    void lookup_recentlyAddedIdIsProcessed() {
+        ProcessedEventFilter filter = filter(1000, 100);
+        UUID eventId = UUID.randomUUID();
+
+        filter.add(eventId);
+
+        assertEquals(Membership.PROCESSED, filter.lookup(eventId));
+    }
+
+    @Test
+    void lookup_idIsForgottenAfterTwoWindows() {
+        ProcessedEventFilter filter = filter(1000, 100);
+        UUID eventId = UUID.randomUUID();
+        filter.add(eventId);
+
+        clock.advance(WINDOW);
+        assertEquals(Membership.PROCESSED, filter.lookup(eventId));
+
+        clock.advance(WINDOW);
+        assertEquals(Membership.NEW, filter.lookup(eventId));
+    }
+
+    @Test
+    void warmUp_loadsIdsProcessedWithinWindow() {
+        UUID eventId = UUID.randomUUID();
+        doAnswer(invocation -> {
+            Consumer<UUID> consumer = invocation.getArgument(1);
+            consumer.accept(eventId);
+            return null;
+        }).when(userSyncJdbcRepository).forEachEventIdOccurredSince(eq(clock.instant().minus(WINDOW)), any());
+        ProcessedEventFilter filter = filter(1000, 100);
+
+        assertEquals(Membership.PROCESSED, filter.lookup(eventId));
+    }
+
+    private ProcessedEventFilter filter(long expectedInsertions, long recentSize) {
+        ProcessedEventFilter filter = new ProcessedEventFilter(
+                userSyncJdbcRepository, clock, WINDOW, expectedInsertions, 0.01, recentSize);
+        filter.afterSingletonsInstantiated();
+        return filter;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
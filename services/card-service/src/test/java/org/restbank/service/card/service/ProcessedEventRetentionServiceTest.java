@@ -0,0 +1,69 @@
+package org.restbank.service.card.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.restbank.service.card.repository.ProcessedEventPartitionRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessedEventRetentionServiceTest {
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    @Mock
+    private ProcessedEventPartitionRepository partitionRepository;
+    @Mock
+    private SchedulerLeaseService schedulerLeaseService;
+
+    private ProcessedEventRetentionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ProcessedEventRetentionService(partitionRepository, schedulerLeaseService,
+                Duration.ofDays(7), 2, LEASE);
+    }
+
+    @Test
+    void maintainPartitions_createsUpcomingAndDropsExpiredPartitions() {
+        when(partitionRepository.findPartitionMonths()).thenReturn(List.of(
+                YearMonth.of(2026, 8), YearMonth.of(2026, 9), YearMonth.of(2026, 10), YearMonth.of(2026, 11)));
+
+        int dropped = service.maintainPartitions(Instant.parse("2026-10-17T03:30:00Z"));
+
+        assertEquals(2, dropped);
+        verify(partitionRepository).createPartition(YearMonth.of(2026, 10));
+        verify(partitionRepository).createPartition(YearMonth.of(2026, 11));
+        verify(partitionRepository).createPartition(YearMonth.of(2026, 12));
+        verify(partitionRepository).dropPartition(YearMonth.of(2026, 8));
+        verify(partitionRepository).dropPartition(YearMonth.of(2026, 9));
+        verify(partitionRepository, never()).dropPartition(YearMonth.of(2026, 10));
+    }
+
+    @Test
+    void maintainPartitions_keepsPreviousMonthWithinRetention() {
+        when(partitionRepository.findPartitionMonths()).thenReturn(List.of(YearMonth.of(2026, 9)));
+
+        assertEquals(0, service.maintainPartitions(Instant.parse("2026-10-03T03:30:00Z")));
+
+        verify(partitionRepository, never()).dropPartition(any());
+    }
+
+    @Test
+    void maintainPartitions_skipsWhenLeaseIsHeldElsewhere() {
+        when(schedulerLeaseService.tryAcquire(ProcessedEventRetentionService.LEASE_NAME, LEASE)).thenReturn(false);
+
+        service.maintainPartitions();
+
+        verifyNoInteractions(partitionRepository);
+    }
+}
@@ -0,0 +1,93 @@
+package org.restbank.service.card.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.restbank.libs.api.dto.event.CustomerCreatedEvent;
+import org.restbank.libs.api.dto.event.CustomerStatus;
+import org.restbank.service.card.entity.ProcessedEvent;
+import org.restbank.service.card.entity.User;
+import org.restbank.service.card.event.CustomerCreatedOutboxEvent;
+import org.restbank.service.card.repository.UserSyncJdbcRepository;
+import org.restbank.service.card.service.ProcessedEventFilter.Membership;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+    @Mock
+    private UserSyncJdbcRepository userSyncJdbcRepository;
+    @Mock
+    private ProcessedEventFilter processedEventFilter;
+    @InjectMocks
+    private UserService userService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void applyCustomersCreated_skipsDuplicatesWithSingleLookup() {
+        CustomerCreatedOutboxEvent fresh = event(UUID.randomUUID());
+        CustomerCreatedOutboxEvent alreadyProcessed = event(UUID.randomUUID());
+        when(processedEventFilter.lookup(any())).thenReturn(Membership.UNKNOWN);
+        when(userSyncJdbcRepository.findProcessedEventIds(anyCollection()))
+                .thenReturn(Set.of(alreadyProcessed.eventId()));
+
+        int applied = userService.applyCustomersCreated(List.of(fresh, alreadyProcessed, fresh));
+
+        assertEquals(1, applied);
+        verify(userSyncJdbcRepository, times(1)).findProcessedEventIds(anyCollection());
+
+        ArgumentCaptor<Collection<User>> users = ArgumentCaptor.forClass(Collection.class);
+        verify(userSyncJdbcRepository).upsertUsers(users.capture());
+        assertEquals(List.of(fresh.event().getId()), users.getValue().stream().map(User::getId).toList());
+
+        ArgumentCaptor<Collection<ProcessedEvent>> processed = ArgumentCaptor.forClass(Collection.class);
+        verify(userSyncJdbcRepository).insertProcessedEvents(processed.capture());
+        assertEquals(List.of(fresh.eventId()), processed.getValue().stream().map(ProcessedEvent::getEventId).toList());
+    }
+
+    @Test
+    void applyCustomersCreated_allDuplicates_writesNothing() {
+        CustomerCreatedOutboxEvent duplicate = event(UUID.randomUUID());
+        when(processedEventFilter.lookup(duplicate.eventId())).thenReturn(Membership.UNKNOWN);
+        when(userSyncJdbcRepository.findProcessedEventIds(anyCollection()))
+                .thenReturn(Set.of(duplicate.eventId()));
+
+        assertEquals(0, userService.applyCustomersCreated(List.of(duplicate)));
+
+        verify(userSyncJdbcRepository, never()).upsertUsers(any());
+        verify(userSyncJdbcRepository, never()).insertProcessedEvents(any());
+    }
+
+    @Test
+    void applyCustomersCreated_filterAnswersWithoutLookup() {
+        CustomerCreatedOutboxEvent fresh = event(UUID.randomUUID());
+        CustomerCreatedOutboxEvent recent = event(UUID.randomUUID());
+        when(processedEventFilter.lookup(fresh.eventId())).thenReturn(Membership.NEW);
+        when(processedEventFilter.lookup(recent.eventId())).thenReturn(Membership.PROCESSED);
+
+        assertEquals(1, userService.applyCustomersCreated(List.of(fresh, recent)));
+
+        verify(userSyncJdbcRepository, never()).findProcessedEventIds(any());
+        verify(userSyncJdbcRepository).upsertUsers(any());
+        verify(processedEventFilter).add(fresh.eventId());
+        verify(processedEventFilter, never()).add(recent.eventId());
+    }
+
+    private CustomerCreatedOutboxEvent event(UUID eventId) {
+        UUID customerId = UUID.randomUUID();
+        return new CustomerCreatedOutboxEvent(eventId, customerId.toString(), Instant.now(),
+                new CustomerCreatedEvent(customerId, CustomerStatus.ACTIVE));
+    }
+}
@@ -2,6 +2,7 @@ package org.restbank.service.customer;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * The main entry point for the Customer Service application.
@@ -17,7 +18,11 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * in both the local {@code com.example.customer} package and the shared
  * {@code com.example.shared} package to ensure common configurations and utilities are
  * available.</p>
+ *
+ * <p>The {@code @EnableScheduling} annotation is used to run periodic tasks, such as purging outbox
+ * rows that have already been captured by Debezium.</p>
  */
+@EnableScheduling
 @SpringBootApplication(scanBasePackages = {"org.restbank"})
 public class CustomerApplication {
 
@@ -7,14 +7,18 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import org.restbank.libs.api.util.JwtPrincipal;
 import org.restbank.service.customer.dto.response.CustomerResponse;
 import org.restbank.service.customer.service.CustomerService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -22,6 +26,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
@@ -143,4 +148,47 @@ public class CustomerController {
                 EntityModel.of(customer,
                         linkTo(methodOn(CustomerController.class).getCustomerByUUID(customer.getId())).withSelfRel())));
     }
+
+    /**
+     * Retrieves a list of customers using keyset (cursor) pagination.
+     * Selected when the {@code limit} parameter is present; the total count is not computed.
+     * Requires administrator privileges.
+     *
+     * @param after The ID of the last customer of the previous page; omit to start from the beginning.
+     * @param limit The maximum number of customers to return.
+     * @return ResponseEntity containing a CollectionModel of CustomerResponse with a {@code next} link, if any.
+     */
+    @GetMapping(params = "limit")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Get a list of customers using a cursor",
+            description = "Retrieves the customers following the given customer ID, ordered by ID. Requires administrator privileges.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "A list of customers with a link to the next page, if any.",
+                            content = @Content(schema = @Schema(implementation = CollectionModel.class))
+                    )
+            }
+    )
+    public ResponseEntity<CollectionModel<EntityModel<CustomerResponse>>> customersAfter(
+            @Parameter(description = "ID of the last customer of the previous page")
+            @RequestParam(required = false) UUID after,
+            @Parameter(description = "Maximum number of customers to return", example = "10")
+            @RequestParam @Min(1) @Max(1000) int limit
+    ) {
+        Slice<CustomerResponse> customers = customerService.getCustomersAfter(after, limit);
+        List<EntityModel<CustomerResponse>> models = customers.getContent().stream()
+                .map(customer -> EntityModel.of(customer,
+                        linkTo(methodOn(CustomerController.class).getCustomerByUUID(customer.getId())).withSelfRel()))
+                .toList();
+
+        CollectionModel<EntityModel<CustomerResponse>> body = CollectionModel.of(models,
+                linkTo(methodOn(CustomerController.class).customersAfter(after, limit)).withSelfRel());
+        if (customers.hasNext()) {
+            UUID last = customers.getContent().getLast().getId();
+            body.add(linkTo(methodOn(CustomerController.class).customersAfter(last, limit)).withRel(IanaLinkRelations.NEXT));
+        }
+        return ResponseEntity.ok(body);
+    }
 }
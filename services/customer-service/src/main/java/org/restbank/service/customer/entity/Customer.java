@@ -1,10 +1,16 @@
 package org.restbank.service.customer.entity;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.restbank.libs.api.dto.event.CustomerStatus;
+import org.springframework.data.domain.Persistable;
 
 import java.time.Instant;
 import java.util.Date;
@@ -12,13 +18,17 @@ import java.util.UUID;
 
 /**
  * Represents a customer entity in the database.
+ *
+ * <p>Customer IDs are assigned by the application, so the entity tracks whether it has been stored itself:
+ * a new instance is persisted with a plain INSERT instead of being merged, which would first SELECT the
+ * row to find out whether it exists.</p>
  */
 @Entity
 @Table(name = "customers")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class Customer {
+public class Customer implements Persistable<UUID> {
     /**
      * The unique identifier for the customer.
      */
@@ -73,4 +83,25 @@ public class Customer {
      */
     @Column(name = "updated_at")
     Instant updatedAt;
+
+    /**
+     * Whether the customer has been loaded from or stored in the database.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
 }
@@ -2,7 +2,8 @@ package org.restbank.service.customer.event;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.keycloak.events.admin.AdminEvent;
 import org.keycloak.events.admin.OperationType;
@@ -10,45 +11,157 @@ import org.keycloak.events.admin.ResourceType;
 import org.restbank.service.customer.dto.request.CustomerRequest;
 import org.restbank.service.customer.dto.response.CustomerResponse;
 import org.restbank.service.customer.service.CustomerService;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * Kafka listener for Keycloak admin events, specifically for customer creation and updates.
  * This class processes events from Keycloak to synchronize customer data within the service.
+ *
+ * <p>By default events are consumed in batches, one transaction per poll. Setting
+ * {@code customer.keycloak.listener.batch} to {@code false} switches to consuming them one at a time.</p>
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class KeycloakCustomerEventListener {
     private final ObjectMapper objectMapper;
     private final CustomerService customerService;
+    private final Timer batchTimer;
+
+    public KeycloakCustomerEventListener(ObjectMapper objectMapper,
+                                         CustomerService customerService,
+                                         MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.customerService = customerService;
+        this.batchTimer = Timer.builder("customer.keycloak.batch")
+                .description("Time taken to apply a batch of Keycloak admin events")
+                .register(meterRegistry);
+    }
 
     /**
      * Listens for Keycloak admin events on the "keycloak-admin-events" topic.
      * Processes user creation and update events to save or update customer information.
+     * A creation event is inserted directly. If the insert violates a constraint, for example because the
+     * event was redelivered, the customer is applied as an upsert the same way the batch listener applies a
+     * rejected batch. An update is applied as an upsert that publishes CUSTOMER_UPDATED only if the customer
+     * actually changed.
      *
      * @param message The Kafka message containing the AdminEvent JSON.
      */
-    @KafkaListener(topics = "keycloak-admin-events", groupId = "user-sync-group")
+    @KafkaListener(topics = "keycloak-admin-events", groupId = "user-sync-group",
+            autoStartup = "#{!${customer.keycloak.listener.batch:true}}")
     public void listenCustomerCreation(String message) {
         try {
             AdminEvent adminEvent = objectMapper.readValue(message, AdminEvent.class);
-            if (adminEvent.getResourceType().equals(ResourceType.USER) && (
-                    adminEvent.getOperationType().equals(OperationType.CREATE) ||
-                            adminEvent.getOperationType().equals(OperationType.UPDATE))
-            ) {
-                CustomerRequest json = objectMapper.readValue(adminEvent.getRepresentation(), CustomerRequest.class);
-                String uuidString = adminEvent.getResourcePath().replace("users/", "");
-                json.setId(UUID.fromString(uuidString));
+            if (isCustomerWrite(adminEvent)) {
+                CustomerRequest json = toCustomerRequest(adminEvent);
                 log.info("Keycloak Admin Listener: Received json {}", json);
-                CustomerResponse response = customerService.saveCustomer(json);
-                log.info("Keycloak Admin Listener: Create User {}", response);
+                if (adminEvent.getOperationType().equals(OperationType.CREATE)) {
+                    createCustomer(json);
+                } else {
+                    int changed = customerService.upsertCustomers(List.of(json));
+                    log.info("Keycloak Admin Listener: Update User {} ({} changed)", json.getId(), changed);
+                }
             }
         } catch (JsonProcessingException ex) {
             log.error("Failed to process keycloak-admin-events", ex);
         }
     }
+
+    private void createCustomer(CustomerRequest customer) throws JsonProcessingException {
+        try {
+            CustomerResponse response = customerService.saveCustomer(customer);
+            log.info("Keycloak Admin Listener: Create User {}", response);
+        } catch (DataIntegrityViolationException ex) {
+            log.warn("Keycloak Admin Listener: Insert of customer {} rejected, applying it as an upsert: {}",
+                    customer.getId(), ex.getMostSpecificCause().getMessage());
+            applyOne(customer);
+        }
+    }
+
+    /**
+     * Listens for batches of Keycloak admin events on the "keycloak-admin-events" topic.
+     *
+     * <p>User creation and update events are collapsed per user ID, keeping the latest representation, and
+     * the resulting customers are upserted in one transaction. Only customers that were created or actually
+     * changed get an outbox row, as CUSTOMER_CREATED or CUSTOMER_UPDATED respectively. If the batch
+     * violates a constraint, for example a duplicate email, or one of its events cannot be serialized, the
+     * customers are applied one by one so only the offending ones are skipped. The batch latency is recorded in the {@code customer.keycloak.batch} timer.</p>
+     *
+     * @param messages The Kafka messages of one poll, each containing an AdminEvent JSON.
+     */
+    @KafkaListener(topics = "keycloak-admin-events", groupId = "user-sync-group", batch = "true",
+            autoStartup = "${customer.keycloak.listener.batch:true}")
+    public void listenCustomerEvents(List<String> messages) {
+        Timer.Sample sample = Timer.start();
+        Map<UUID, CustomerRequest> customers = new LinkedHashMap<>();
+        for (String message : messages) {
+            try {
+                AdminEvent adminEvent = objectMapper.readValue(message, AdminEvent.class);
+                if (isCustomerWrite(adminEvent)) {
+                    CustomerRequest request = toCustomerRequest(adminEvent);
+                    customers.remove(request.getId());
+                    customers.put(request.getId(), request);
+                }
+            } catch (JsonProcessingException | IllegalArgumentException ex) {
+                log.error("Failed to process keycloak-admin-events", ex);
+            }
+        }
+
+        try {
+            if (!customers.isEmpty()) {
+                applyBatch(List.copyOf(customers.values()));
+            }
+        } finally {
+            sample.stop(batchTimer);
+        }
+        log.info("Keycloak Admin Listener: Applied {} customers from {} events", customers.size(), messages.size());
+    }
+
+    private void applyBatch(List<CustomerRequest> customers) {
+        try {
+            customerService.upsertCustomers(customers);
+        } catch (JsonProcessingException ex) {
+            log.warn("Keycloak Admin Listener: Batch of {} customers could not be serialized, applying them one by one",
+                    customers.size(), ex);
+            applyOneByOne(customers);
+        } catch (DataIntegrityViolationException ex) {
+            log.warn("Keycloak Admin Listener: Batch of {} customers rejected, applying them one by one: {}",
+                    customers.size(), ex.getMostSpecificCause().getMessage());
+            applyOneByOne(customers);
+        }
+    }
+
+    private void applyOneByOne(List<CustomerRequest> customers) {
+        for (CustomerRequest customer : customers) {
+            applyOne(customer);
+        }
+    }
+
+    private void applyOne(CustomerRequest customer) {
+        try {
+            customerService.upsertCustomers(List.of(customer));
+        } catch (JsonProcessingException | DataIntegrityViolationException ex) {
+            log.error("Keycloak Admin Listener: Skipping customer {}", customer.getId(), ex);
+        }
+    }
+
+    private static boolean isCustomerWrite(AdminEvent adminEvent) {
+        return adminEvent.getResourceType().equals(ResourceType.USER) && (
+                adminEvent.getOperationType().equals(OperationType.CREATE) ||
+                        adminEvent.getOperationType().equals(OperationType.UPDATE));
+    }
+
+    private CustomerRequest toCustomerRequest(AdminEvent adminEvent) throws JsonProcessingException {
+        CustomerRequest json = objectMapper.readValue(adminEvent.getRepresentation(), CustomerRequest.class);
+        String uuidString = adminEvent.getResourcePath().replace("users/", "");
+        json.setId(UUID.fromString(uuidString));
+        return json;
+    }
 }
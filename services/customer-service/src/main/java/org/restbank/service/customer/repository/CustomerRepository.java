@@ -1,6 +1,8 @@
 package org.restbank.service.customer.repository;
 
 import org.restbank.service.customer.entity.Customer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.UUID;
@@ -10,4 +12,22 @@ import java.util.UUID;
  * Provides CRUD operations and custom queries for Customer data.
  */
 public interface CustomerRepository extends JpaRepository<Customer, UUID> {
+
+    /**
+     * Retrieves the first customers ordered by ID, without a count query.
+     *
+     * @param pageable The page size; the page number should be {@code 0}.
+     * @return A Slice of customers ordered by ID.
+     */
+    Slice<Customer> findAllByOrderByIdAsc(Pageable pageable);
+
+    /**
+     * Retrieves the customers whose ID follows the given one, ordered by ID, without a count query.
+     * The seek predicate is served by the primary key index, so deep pages cost the same as the first one.
+     *
+     * @param after    The ID of the last customer of the previous page.
+     * @param pageable The page size; the page number should be {@code 0}.
+     * @return A Slice of customers following {@code after}.
+     */
+    Slice<Customer> findByIdGreaterThanOrderByIdAsc(UUID after, Pageable pageable);
 }
@@ -0,0 +1,125 @@
+package org.restbank.service.customer.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.restbank.libs.api.dto.event.CustomerStatus;
+import org.restbank.service.customer.entity.Customer;
+import org.restbank.service.customer.entity.OutboxEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A JDBC repository for writing customers synchronized from Keycloak, and their outbox rows, in bulk.
+ *
+ * <p>Customers are upserted with a single array-bound statement and outbox rows are sent as a JDBC batch,
+ * skipping the persistence context entirely, so a whole Kafka poll is written with a handful of round
+ * trips.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class CustomerSyncJdbcRepository {
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the given customers, or updates the names and email of customers that already exist.
+     *
+     * <p>All customers are sent in one statement as column arrays. An existing customer is only updated, and
+     * only returned, when one of its fields actually changes; its status and creation time are kept. Each ID
+     * may appear at most once.</p>
+     *
+     * @param customers The customers to insert or update.
+     * @return One {@link CustomerUpsert} per customer that was inserted or changed.
+     */
+    public List<CustomerUpsert> upsertCustomers(Collection<Customer> customers) {
+        if (customers.isEmpty()) {
+            return List.of();
+        }
+        int size = customers.size();
+        UUID[] ids = new UUID[size];
+        String[] firstNames = new String[size];
+        String[] lastNames = new String[size];
+        String[] emails = new String[size];
+        String[] statuses = new String[size];
+        Timestamp[] createdAt = new Timestamp[size];
+        Timestamp[] updatedAt = new Timestamp[size];
+        int i = 0;
+        for (Customer customer : customers) {
+            ids[i] = customer.getId();
+            firstNames[i] = customer.getFirstName();
+            lastNames[i] = customer.getLastName();
+            emails[i] = customer.getEmail();
+            statuses[i] = customer.getStatus().name();
+            createdAt[i] = Timestamp.from(customer.getCreatedAt());
+            updatedAt[i] = Timestamp.from(customer.getUpdatedAt());
+            i++;
+        }
+
+        return jdbcTemplate.query(connection -> {
+                    PreparedStatement ps = connection.prepareStatement("""
+                            INSERT INTO customers AS c (id, first_name, last_name, email, status, created_at, updated_at)
+                            SELECT * FROM unnest(?::uuid[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[],
+                                                 ?::timestamptz[], ?::timestamptz[])
+                            ON CONFLICT (id) DO UPDATE SET
+                                first_name = COALESCE(EXCLUDED.first_name, c.first_name),
+                                last_name = COALESCE(EXCLUDED.last_name, c.last_name),
+                                email = COALESCE(EXCLUDED.email, c.email),
+                                updated_at = EXCLUDED.updated_at
+                            WHERE (COALESCE(EXCLUDED.first_name, c.first_name),
+                                   COALESCE(EXCLUDED.last_name, c.last_name),
+                                   COALESCE(EXCLUDED.email, c.email))
+                                  IS DISTINCT FROM (c.first_name, c.last_name, c.email)
+                            RETURNING c.id, c.status, (c.xmax = 0) AS inserted
+                            """);
+                    ps.setArray(1, connection.createArrayOf("uuid", ids));
+                    ps.setArray(2, connection.createArrayOf("varchar", firstNames));
+                    ps.setArray(3, connection.createArrayOf("varchar", lastNames));
+                    ps.setArray(4, connection.createArrayOf("varchar", emails));
+                    ps.setArray(5, connection.createArrayOf("varchar", statuses));
+                    ps.setArray(6, connection.createArrayOf("timestamptz", createdAt));
+                    ps.setArray(7, connection.createArrayOf("timestamptz", updatedAt));
+                    return ps;
+                },
+                (rs, rowNum) -> new CustomerUpsert(
+                        rs.getObject("id", UUID.class),
+                        CustomerStatus.valueOf(rs.getString("status")),
+                        rs.getBoolean("inserted")));
+    }
+
+    /**
+     * Inserts the given outbox rows.
+     *
+     * @param events The outbox rows to insert; their IDs must already be assigned.
+     */
+    public void insertOutboxEvents(Collection<OutboxEvent> events) {
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO outbox (id, aggregate_type, aggregate_id, event_type, payload, created_at)
+                        VALUES (?, ?, ?, ?, ?::jsonb, ?)
+                        """,
+                events, BATCH_SIZE,
+                (ps, event) -> {
+                    ps.setObject(1, event.getId());
+                    ps.setString(2, event.getAggregateType());
+                    ps.setString(3, event.getAggregateId());
+                    ps.setString(4, event.getEventType().name());
+                    ps.setString(5, event.getPayload());
+                    ps.setTimestamp(6, Timestamp.from(event.getCreatedAt()));
+                });
+    }
+
+    /**
+     * The outcome of upserting a single customer.
+     *
+     * @param id       The customer ID.
+     * @param status   The customer's status after the upsert.
+     * @param inserted {@code true} if the customer was created, {@code false} if an existing one changed.
+     */
+    public record CustomerUpsert(UUID id, CustomerStatus status, boolean inserted) {
+    }
+}
@@ -2,7 +2,12 @@ package org.restbank.service.customer.repository;
 
 import org.restbank.service.customer.entity.OutboxEvent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -10,4 +15,36 @@ import java.util.UUID;
  * Provides CRUD operations for OutboxEvent data.
  */
 public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    /**
+     * Deletes at most {@code batchSize} of the oldest outbox rows created before the given instant.
+     *
+     * <p>The rows are selected through the {@code created_at} index and deleted by their physical location
+     * ({@code ctid}), so the delete itself is a TID scan. Rows locked by a concurrent transaction are skipped
+     * rather than waited for.</p>
+     *
+     * @param cutoff    Rows created before this instant are deleted.
+     * @param batchSize The maximum number of rows to delete.
+     * @return The number of rows deleted.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM outbox
+            WHERE ctid = ANY(ARRAY(
+                SELECT ctid FROM outbox
+                WHERE created_at < :cutoff
+                ORDER BY created_at
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED))
+            """, nativeQuery = true)
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff, @Param("batchSize") int batchSize);
+
+    /**
+     * Returns the total on-disk size of the outbox table, including its indexes and TOAST data.
+     *
+     * @return The size in bytes.
+     */
+    @Query(value = "SELECT pg_total_relation_size('outbox')", nativeQuery = true)
+    long totalRelationSize();
 }
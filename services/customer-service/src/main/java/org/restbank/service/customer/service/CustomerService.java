@@ -2,7 +2,7 @@ package org.restbank.service.customer.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.restbank.libs.api.dto.event.CustomerCreatedEvent;
 import org.restbank.libs.api.dto.event.CustomerStatus;
 import org.restbank.libs.api.dto.event.EventType;
@@ -13,34 +13,56 @@ import org.restbank.service.customer.entity.Customer;
 import org.restbank.service.customer.entity.OutboxEvent;
 import org.restbank.service.customer.exception.CustomerNotFound;
 import org.restbank.service.customer.repository.CustomerRepository;
+import org.restbank.service.customer.repository.CustomerSyncJdbcRepository;
+import org.restbank.service.customer.repository.CustomerSyncJdbcRepository.CustomerUpsert;
 import org.restbank.service.customer.repository.OutboxEventRepository;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Service class for managing customer-related business logic.
  * Handles operations such as saving, retrieving, and listing customers.
+ *
+ * <p>Writes add a row to the outbox in the same transaction. Nothing is flushed explicitly: the customer
+ * and its outbox row are written together when the transaction commits.</p>
  */
 @Service
-@RequiredArgsConstructor
 public class CustomerService {
 
     private final CustomerRepository customerRepository;
     private final CustomerMapper customerMapper;
-    private final ObjectMapper objectMapper;
+    private final ObjectWriter eventWriter;
     private final OutboxEventRepository outboxEventRepository;
+    private final CustomerSyncJdbcRepository customerSyncJdbcRepository;
+
+    public CustomerService(CustomerRepository customerRepository,
+                           CustomerMapper customerMapper,
+                           ObjectMapper objectMapper,
+                           OutboxEventRepository outboxEventRepository,
+                           CustomerSyncJdbcRepository customerSyncJdbcRepository) {
+        this.customerRepository = customerRepository;
+        this.customerMapper = customerMapper;
+        this.eventWriter = objectMapper.writerFor(CustomerCreatedEvent.class);
+        this.outboxEventRepository = outboxEventRepository;
+        this.customerSyncJdbcRepository = customerSyncJdbcRepository;
+    }
 
     /**
-     * Saves a new customer or updates an existing one.
+     * Saves a new customer.
      * Publishes a CustomerCreatedEvent to the outbox for asynchronous processing.
      *
      * @param request The CustomerRequest containing customer data.
-     * @return The saved or updated CustomerResponse.
+     * @return The saved CustomerResponse.
      * @throws JsonProcessingException if there's an error processing JSON for the event.
      */
     @Transactional
@@ -51,26 +73,68 @@ public class CustomerService {
         } else {
             customer.setId(UUID.randomUUID());
         }
+        Instant now = Instant.now();
         customer.setStatus(CustomerStatus.ACTIVE);
-        customer.setCreatedAt(Instant.now());
-        customer.setUpdatedAt(Instant.now());
+        customer.setCreatedAt(now);
+        customer.setUpdatedAt(now);
         customerRepository.save(customer);
+        saveOutboxEvent(customer, now);
+        return customerMapper.toResponse(customer);
+    }
 
-        CustomerCreatedEvent event = new CustomerCreatedEvent(
-                customer.getId(),
-                customer.getStatus()
-        );
+    /**
+     * Inserts or updates a batch of customers synchronized from Keycloak, in one transaction.
+     *
+     * <p>A new customer is created as ACTIVE and published to the outbox as CUSTOMER_CREATED. An existing
+     * customer keeps its status and creation time and is only written, and published as CUSTOMER_UPDATED,
+     * when its name or email actually changed; an unchanged customer costs no write and no event.</p>
+     *
+     * @param requests The customers to upsert, at most one per ID.
+     * @return The number of customers that were created or changed.
+     * @throws JsonProcessingException if there's an error processing JSON for an event.
+     */
+    @Transactional
+    public int upsertCustomers(Collection<CustomerRequest> requests) throws JsonProcessingException {
+        Instant now = Instant.now();
+        List<Customer> customers = new ArrayList<>(requests.size());
+        for (CustomerRequest request : requests) {
+            Customer customer = customerMapper.toEntity(request);
+            customer.setId(request.getId());
+            customer.setStatus(CustomerStatus.ACTIVE);
+            customer.setCreatedAt(now);
+            customer.setUpdatedAt(now);
+            customers.add(customer);
+        }
 
-        OutboxEvent outbox = OutboxEvent.builder()
+        List<CustomerUpsert> upserts = customerSyncJdbcRepository.upsertCustomers(customers);
+        List<OutboxEvent> outbox = new ArrayList<>(upserts.size());
+        for (CustomerUpsert upsert : upserts) {
+            OutboxEvent event = outboxEvent(upsert.id(), upsert.status(),
+                    upsert.inserted() ? EventType.CUSTOMER_CREATED : EventType.CUSTOMER_UPDATED, now);
+            event.setId(UUID.randomUUID());
+            outbox.add(event);
+        }
+        if (!outbox.isEmpty()) {
+            customerSyncJdbcRepository.insertOutboxEvents(outbox);
+        }
+        return upserts.size();
+    }
+
+    private void saveOutboxEvent(Customer customer, Instant now) throws JsonProcessingException {
+        outboxEventRepository.save(outboxEvent(customer.getId(), customer.getStatus(), EventType.CUSTOMER_CREATED, now));
+    }
+
+    private OutboxEvent outboxEvent(UUID customerId, CustomerStatus status, EventType eventType, Instant now)
+            throws JsonProcessingException {
+        CustomerCreatedEvent event = new CustomerCreatedEvent(customerId, status);
+
+        return OutboxEvent.builder()
                 .aggregateType("Customer")
-                .aggregateId(customer.getId().toString())
-                .eventType(EventType.CUSTOMER_CREATED)
-                .payload(objectMapper.writeValueAsString(event))
-                .createdAt(Instant.now())
+                .aggregateId(customerId.toString())
+                .eventType(eventType)
+                .payload(eventWriter.writeValueAsString(event))
+                .createdAt(now)
                 .build();
-        outboxEventRepository.save(outbox);
-        outboxEventRepository.flush();
-        return customerMapper.toResponse(customer);
     }
 
     /**
@@ -98,4 +162,20 @@ public class CustomerService {
         return customerRepository.findAll(pageable)
                 .map(customerMapper::toResponse);
     }
+
+    /**
+     * Retrieves the customers that follow a given customer ID, using keyset pagination.
+     *
+     * @param after The ID of the last customer of the previous page, or {@code null} to start from the beginning.
+     * @param limit The maximum number of customers to return.
+     * @return A Slice of CustomerResponse objects ordered by ID.
+     */
+    @Transactional(readOnly = true)
+    public Slice<CustomerResponse> getCustomersAfter(UUID after, int limit) {
+        PageRequest pageRequest = PageRequest.of(0, limit);
+        Slice<Customer> customers = after == null
+                ? customerRepository.findAllByOrderByIdAsc(pageRequest)
+                : customerRepository.findByIdGreaterThanOrderByIdAsc(after, pageRequest);
+        return customers.map(customerMapper::toResponse);
+    }
 }
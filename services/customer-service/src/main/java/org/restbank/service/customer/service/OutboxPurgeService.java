@@ -0,0 +1,104 @@
+package org.restbank.service.customer.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.restbank.service.customer.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service that deletes outbox rows once they are old enough to have been captured by Debezium.
+ *
+ * <p>Rows are deleted in small batches, each in its own short transaction, with a pause between batches so
+ * the purge never holds locks or saturates I/O for long while customers are being written. A run stops as
+ * soon as a batch comes back short or the per-run batch limit is reached; the remainder is picked up by the
+ * next run. The number of purged rows and the table size, measured after every run, are published as
+ * metrics.</p>
+ *
+ * <p>The connector is registered with {@code skipped.operations=d} and {@code tombstones.on.delete=false},
+ * so the purge deletes are not published to the outbox topic.</p>
+ */
+@Slf4j
+@Service
+public class OutboxPurgeService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final Duration retention;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration pause;
+    private final Counter purgedCounter;
+    private final AtomicLong tableSize = new AtomicLong();
+
+    public OutboxPurgeService(OutboxEventRepository outboxEventRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${customer.outbox.purge.retention:PT1H}") Duration retention,
+                              @Value("${customer.outbox.purge.batch-size:1000}") int batchSize,
+                              @Value("${customer.outbox.purge.max-batches-per-run:100}") int maxBatchesPerRun,
+                              @Value("${customer.outbox.purge.pause:PT0.1S}") Duration pause) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pause = pause;
+        this.purgedCounter = Counter.builder("customer.outbox.purged")
+                .description("Number of outbox rows deleted by the purge job")
+                .register(meterRegistry);
+        Gauge.builder("customer.outbox.size", tableSize, AtomicLong::get)
+                .description("Total size of the outbox table, including indexes")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Scheduled task that purges outbox rows older than the configured retention.
+     * Runs every minute by default.
+     */
+    @Scheduled(fixedDelayString = "${customer.outbox.purge.interval:PT1M}")
+    public void purgeOutbox() {
+        int purged = purgeCreatedBefore(Instant.now().minus(retention));
+        tableSize.set(outboxEventRepository.totalRelationSize());
+        if (purged > 0) {
+            log.info("Purged {} outbox rows older than {}", purged, retention);
+        }
+    }
+
+    /**
+     * Deletes outbox rows created before the given instant, in throttled batches.
+     *
+     * @param cutoff Rows created before this instant are deleted.
+     * @return The number of rows deleted.
+     */
+    public int purgeCreatedBefore(Instant cutoff) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int deleted = outboxEventRepository.deleteCreatedBefore(cutoff, batchSize);
+            total += deleted;
+            purgedCounter.increment(deleted);
+            if (deleted < batchSize || !pause()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private boolean pause() {
+        if (pause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}